@@ -1,13 +1,13 @@
-package com.api.e_commerce;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-@SpringBootApplication
-public class ECommerceApplication {
-
-	public static void main(String[] args) {
-		SpringApplication.run(ECommerceApplication.class, args);
-	}
-
-}
+package com.api.e_commerce;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ECommerceApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ECommerceApplication.class, args);
+	}
+
+}
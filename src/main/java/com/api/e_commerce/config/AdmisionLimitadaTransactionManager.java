@@ -0,0 +1,85 @@
+package com.api.e_commerce.config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.api.e_commerce.exception.ServicioSaturadoException;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * JpaTransactionManager con control de admisión a la base de datos.
+ * 
+ * Cada transacción nueva toma un permiso de un semáforo algo menor que el pool
+ * de conexiones y lo devuelve al terminar (commit o rollback). Con hilos
+ * virtuales puede haber miles de peticiones concurrentes: las que exceden la
+ * capacidad de la base esperan en el semáforo, de forma justa (FIFO) y sin
+ * consumir hilos de plataforma, en lugar de competir por el pool de Hikari.
+ * Si la espera supera el límite, se rechaza con ServicioSaturadoException (503).
+ * 
+ * Solo las transacciones físicas nuevas toman permiso: unirse a una
+ * transacción existente (REQUIRED) no cuenta dos veces.
+ * 
+ * Requiere spring.jpa.open-in-view=false: con Open Session in View el
+ * EntityManager de la petición conserva su conexión hasta el final de la
+ * petición, después de devolver el permiso, y el semáforo dejaría de reflejar
+ * las conexiones en uso.
+ */
+public class AdmisionLimitadaTransactionManager extends JpaTransactionManager {
+
+    private final Semaphore permisos;
+    private final Duration esperaMaxima;
+
+    /**
+     * @param emf          EntityManagerFactory de la aplicación
+     * @param capacidad    Transacciones concurrentes permitidas (menor que el
+     *                     tamaño del pool)
+     * @param esperaMaxima Tiempo máximo de espera por un permiso
+     */
+    public AdmisionLimitadaTransactionManager(EntityManagerFactory emf, int capacidad, Duration esperaMaxima) {
+        super(emf);
+        this.permisos = new Semaphore(capacidad, true);
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        adquirirPermiso();
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            // Si la transacción no llegó a empezar, no habrá cleanup que devuelva el permiso
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    // Permisos libres en este momento (útil para métricas)
+    public int permisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    private void adquirirPermiso() {
+        try {
+            if (!permisos.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServicioSaturadoException("La base de datos está saturada, intente nuevamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicioSaturadoException("Petición interrumpida esperando acceso a la base de datos");
+        }
+    }
+}
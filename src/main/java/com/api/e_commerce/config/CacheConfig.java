@@ -0,0 +1,93 @@
+package com.api.e_commerce.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Configuración de la caché en memoria (Caffeine).
+ * Cada caché tiene tamaño máximo y TTL propios; Caffeine desaloja por
+ * W-TinyLFU cuando se llena. Las estadísticas (hits, misses, evictions) se
+ * publican en /actuator/metrics como cache.gets, cache.evictions, etc.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Producto individual por ID (detalle)
+    public static final String CACHE_PRODUCTOS = "productos";
+
+    // Listado de productos por ID de categoría
+    public static final String CACHE_PRODUCTOS_POR_CATEGORIA = "productosPorCategoria";
+
+    @Value("${cache.productos.tamanio-maximo:10000}")
+    private long productosTamanioMaximo;
+
+    @Value("${cache.productos.ttl:10m}")
+    private Duration productosTtl;
+
+    @Value("${cache.productos-por-categoria.tamanio-maximo:500}")
+    private long productosPorCategoriaTamanioMaximo;
+
+    @Value("${cache.productos-por-categoria.ttl:1m}")
+    private Duration productosPorCategoriaTtl;
+
+    /**
+     * El CacheManager se envuelve en un proxy transaccional: los put y evict
+     * hechos dentro de una transacción se aplican recién después del commit,
+     * así una lectura no ve la invalidación antes de que la escritura sea
+     * visible en la base.
+     * 
+     * El proxy no evita por sí solo que una lectura concurrente vuelva a
+     * cachear el valor viejo: si leyó la fila antes del commit de la escritura,
+     * su put (diferido a su propio commit) puede llegar después del evict. Por
+     * eso cada caché se envuelve en una CacheVersionada, que descarta los put
+     * de lecturas anteriores a una invalidación de la misma clave.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CacheVersionada(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        cacheManager.registerCustomCache(CACHE_PRODUCTOS, Caffeine.newBuilder()
+                .maximumSize(productosTamanioMaximo)
+                .expireAfterWrite(productosTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CACHE_PRODUCTOS_POR_CATEGORIA, Caffeine.newBuilder()
+                .maximumSize(productosPorCategoriaTamanioMaximo)
+                .expireAfterWrite(productosPorCategoriaTtl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Métricas de Caffeine (cache.gets, cache.evictions, etc.) para las cachés
+     * envueltas en CacheVersionada, que el registrador de Spring Boot no
+     * reconoce como CaffeineCache
+     */
+    @Bean
+    public CacheMeterBinderProvider<CacheVersionada> cacheVersionadaMeterBinderProvider() {
+        return (cache, tags) -> cache.getDelegada() instanceof CaffeineCache caffeine
+                ? new CaffeineCacheMetrics<>(caffeine.getNativeCache(), cache.getName(), tags)
+                : null;
+    }
+}
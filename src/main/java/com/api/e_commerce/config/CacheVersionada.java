@@ -0,0 +1,151 @@
+package com.api.e_commerce.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Caché que descarta los put de valores leídos antes de una invalidación.
+ *
+ * El proxy transaccional del CacheManager no alcanza: una lectura que cargó
+ * la fila vieja antes del commit de una escritura hace su put después de su
+ * propio commit, que puede llegar después del evict de la escritura, y el
+ * valor viejo quedaría cacheado hasta el TTL.
+ *
+ * Cada clave cae en una de CANTIDAD_VERSIONES franjas con un contador que se
+ * incrementa en cada evict. Un get sin resultado anota, para el hilo actual,
+ * la versión de la franja de esa clave; el put siguiente de la misma clave en
+ * ese hilo solo se guarda si la versión no cambió. Si el evict ocurre justo
+ * entre la verificación y el put, el valor recién guardado se vuelve a
+ * desalojar: en el peor caso se pierde un acierto, nunca se sirve un valor
+ * viejo.
+ */
+public class CacheVersionada implements Cache {
+
+    // Franjas de versiones: una invalidación solo descarta los put pendientes
+    // de las claves de su franja
+    static final int CANTIDAD_VERSIONES = 1024;
+
+    // Lecturas pendientes por hilo. Las que nunca reciben su put (por ejemplo
+    // gets de IDs inexistentes) se descartan de la más vieja a la más nueva; la
+    // lectura en curso siempre es la más reciente
+    private static final int MAXIMO_LECTURAS_PENDIENTES = 256;
+
+    private final Cache delegada;
+    private final AtomicLongArray versiones = new AtomicLongArray(CANTIDAD_VERSIONES);
+    private final ThreadLocal<Map<Object, Long>> lecturasPendientes = ThreadLocal
+            .withInitial(CacheVersionada::nuevasLecturasPendientes);
+
+    public CacheVersionada(Cache delegada) {
+        this.delegada = delegada;
+    }
+
+    public Cache getDelegada() {
+        return delegada;
+    }
+
+    @Override
+    public String getName() {
+        return delegada.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegada.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper valor = delegada.get(key);
+        if (valor == null) {
+            anotarLectura(key);
+        }
+        return valor;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T valor = delegada.get(key, type);
+        if (valor == null) {
+            anotarLectura(key);
+        }
+        return valor;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegada.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long versionLeida = lecturasPendientes.get().remove(key);
+        if (versionLeida == null) {
+            delegada.put(key, value);
+            return;
+        }
+
+        int franja = franja(key);
+        if (versiones.get(franja) != versionLeida) {
+            // Hubo una invalidación después de la lectura: el valor puede ser viejo
+            return;
+        }
+        delegada.put(key, value);
+        if (versiones.get(franja) != versionLeida) {
+            // La invalidación llegó entre la verificación y el put
+            delegada.evict(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        versiones.incrementAndGet(franja(key));
+        delegada.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        versiones.incrementAndGet(franja(key));
+        return delegada.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        incrementarTodas();
+        delegada.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        incrementarTodas();
+        return delegada.invalidate();
+    }
+
+    private void anotarLectura(Object key) {
+        Map<Object, Long> pendientes = lecturasPendientes.get();
+        pendientes.remove(key);
+        pendientes.put(key, versiones.get(franja(key)));
+    }
+
+    private static Map<Object, Long> nuevasLecturasPendientes() {
+        return new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Long> masVieja) {
+                return size() > MAXIMO_LECTURAS_PENDIENTES;
+            }
+        };
+    }
+
+    private void incrementarTodas() {
+        for (int i = 0; i < CANTIDAD_VERSIONES; i++) {
+            versiones.incrementAndGet(i);
+        }
+    }
+
+    private static int franja(Object key) {
+        return Math.floorMod(key.hashCode(), CANTIDAD_VERSIONES);
+    }
+}
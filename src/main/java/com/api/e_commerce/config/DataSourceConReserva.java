@@ -0,0 +1,102 @@
+package com.api.e_commerce.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que atiende las conexiones anidadas desde un pool reservado.
+ *
+ * Una conexión es anidada cuando el hilo que la pide ya tiene abierta otra del
+ * pool principal. En esta aplicación el único caso es el generador de IDs
+ * (@TableGenerator): cuando se agota el bloque de 50 IDs, Hibernate lee el
+ * siguiente en otra conexión, fuera de la transacción que está insertando y
+ * sin soltar la de esa transacción. Si todas las conexiones del pool principal
+ * están tomadas por transacciones que insertan, cada una espera una conexión
+ * más que nunca se libera, hasta el connection-timeout de Hikari. Con el pool
+ * reservado, el generador siempre obtiene su conexión sin competir con las
+ * transacciones.
+ *
+ * Las conexiones del pool principal se cuentan por hilo (también con hilos
+ * virtuales) y dejan de contarse al cerrarse.
+ */
+public class DataSourceConReserva extends DelegatingDataSource implements AutoCloseable {
+
+    private final DataSource reservado;
+    private final ThreadLocal<int[]> abiertas = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DataSourceConReserva(DataSource principal, DataSource reservado) {
+        super(principal);
+        this.reservado = reservado;
+    }
+
+    public DataSource getReservado() {
+        return reservado;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int[] contador = abiertas.get();
+        if (contador[0] > 0) {
+            return reservado.getConnection();
+        }
+        return contar(obtainTargetDataSource().getConnection(), contador);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        int[] contador = abiertas.get();
+        if (contador[0] > 0) {
+            return reservado.getConnection(username, password);
+        }
+        return contar(obtainTargetDataSource().getConnection(username, password), contador);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (reservado instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+        if (getTargetDataSource() instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+    }
+
+    // Envuelve la conexión para descontarla del hilo al cerrarla (una sola vez)
+    private static Connection contar(Connection conexion, int[] contador) {
+        contador[0]++;
+        InvocationHandler manejador = new InvocationHandler() {
+            private boolean cerrada;
+
+            @Override
+            public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+                switch (metodo.getName()) {
+                    case "equals":
+                        return proxy == argumentos[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                if (metodo.getName().equals("close") && metodo.getParameterCount() == 0 && !cerrada) {
+                    cerrada = true;
+                    contador[0]--;
+                }
+                try {
+                    return metodo.invoke(conexion, argumentos);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(DataSourceConReserva.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, manejador);
+    }
+}
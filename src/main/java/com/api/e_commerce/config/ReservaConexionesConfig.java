@@ -0,0 +1,39 @@
+package com.api.e_commerce.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Pool de conexiones reservado para el generador de IDs (ver
+ * DataSourceConReserva).
+ *
+ * Envuelve el DataSource de Hikari que crea Spring Boot. El pool reservado usa
+ * la misma configuración que el principal, con db.generador-ids.conexiones
+ * conexiones como máximo; con 0 no se envuelve el DataSource.
+ */
+@Configuration
+public class ReservaConexionesConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceConReservaPostProcessor(Environment environment) {
+        int conexiones = environment.getProperty("db.generador-ids.conexiones", Integer.class, 2);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (conexiones <= 0 || !(bean instanceof HikariDataSource principal)) {
+                    return bean;
+                }
+                HikariDataSource reservado = new HikariDataSource();
+                principal.copyStateTo(reservado);
+                reservado.setPoolName("generador-ids");
+                reservado.setMaximumPoolSize(conexiones);
+                reservado.setMinimumIdle(0);
+                return new DataSourceConReserva(principal, reservado);
+            }
+        };
+    }
+}
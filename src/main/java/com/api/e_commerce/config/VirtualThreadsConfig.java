@@ -0,0 +1,54 @@
+package com.api.e_commerce.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Modo opcional de hilos virtuales (requiere Java 21).
+ * 
+ * Se activa con spring.threads.virtual.enabled=true ejecutando sobre Java 21
+ * (compilar con el perfil de Maven "java21"). En ese modo Spring Boot atiende
+ * cada petición de Tomcat en un hilo virtual, y esta configuración reemplaza el
+ * transaction manager por uno que limita las transacciones concurrentes (ver
+ * AdmisionLimitadaTransactionManager). Los permisos son el tamaño del pool de
+ * Hikari menos db.admision.conexiones-reservadas: quedan conexiones libres para
+ * lo que se conecta fuera de una transacción admitida, y ninguna transacción
+ * admitida espera por el pool.
+ * En Java 17 o sin la propiedad, esta clase no hace nada.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            EntityManagerFactory entityManagerFactory,
+            ObjectProvider<TransactionManagerCustomizers> customizers,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanioPool,
+            @Value("${db.admision.espera-maxima:5s}") Duration esperaMaxima,
+            @Value("${db.admision.conexiones-reservadas:2}") int conexionesReservadas) {
+        int capacidad = Math.max(1, tamanioPool - conexionesReservadas);
+        AdmisionLimitadaTransactionManager transactionManager = new AdmisionLimitadaTransactionManager(
+                entityManagerFactory, capacidad, esperaMaxima);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        meterRegistry.ifAvailable(registry -> Gauge
+                .builder("db.admision.permisos.disponibles", transactionManager,
+                        AdmisionLimitadaTransactionManager::permisosDisponibles)
+                .description("Transacciones que pueden empezar sin esperar")
+                .register(registry));
+        return transactionManager;
+    }
+}
@@ -1,37 +1,37 @@
-package com.api.e_commerce.controller;
-
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import com.api.e_commerce.dto.auth.LoginRequest;
-import com.api.e_commerce.dto.auth.RegisterRequest;
-import com.api.e_commerce.service.AuthenticationService;
-
-import lombok.RequiredArgsConstructor;
-
-@RestController
-@RequestMapping("/api/auth")
-// anotación de Lombok que genera automáticamente un constructor que incluye
-// todos los campos marcados como final, es igual que usar @autowired
-@RequiredArgsConstructor
-public class AuthenticationController {
-
-    private final AuthenticationService authenticationService;
-
-    // http://localhost:8080/api/auth/register con metodo post http, enviar un body
-    // -> crear un usuario
-    @PostMapping("/register")
-    public ResponseEntity<String> register(@RequestBody RegisterRequest request) {
-        return ResponseEntity.ok(authenticationService.register(request));
-    }
-
-    // http://localhost:8080/api/auth/login con metodo post http, enviar un body ->
-    // loguear un usuario
-    @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authenticationService.authenticate(request));
-    }
-}
+package com.api.e_commerce.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.api.e_commerce.dto.auth.LoginRequest;
+import com.api.e_commerce.dto.auth.RegisterRequest;
+import com.api.e_commerce.service.AuthenticationService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/auth")
+// anotación de Lombok que genera automáticamente un constructor que incluye
+// todos los campos marcados como final, es igual que usar @autowired
+@RequiredArgsConstructor
+public class AuthenticationController {
+
+    private final AuthenticationService authenticationService;
+
+    // http://localhost:8080/api/auth/register con metodo post http, enviar un body
+    // -> crear un usuario
+    @PostMapping("/register")
+    public ResponseEntity<String> register(@RequestBody RegisterRequest request) {
+        return ResponseEntity.ok(authenticationService.register(request));
+    }
+
+    // http://localhost:8080/api/auth/login con metodo post http, enviar un body ->
+    // loguear un usuario
+    @PostMapping("/login")
+    public ResponseEntity<String> login(@RequestBody LoginRequest request) {
+        return ResponseEntity.ok(authenticationService.authenticate(request));
+    }
+}
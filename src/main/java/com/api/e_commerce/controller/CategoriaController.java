@@ -1,74 +1,96 @@
-package com.api.e_commerce.controller;
-
-import java.util.List;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-
-import com.api.e_commerce.dto.categoria.CategoriaCreateDTO;
-import com.api.e_commerce.dto.categoria.CategoriaDTO;
-import com.api.e_commerce.dto.categoria.CategoriaUpdateDTO;
-import com.api.e_commerce.service.CategoriaService;
-import jakarta.validation.Valid;
-
-@RestController
-@RequestMapping("/api/categorias")
-public class CategoriaController {
-
-    @Autowired
-    private CategoriaService categoriaService;
-
-    // GET /api/categorias - Obtener todas las categorías ordenadas alfabéticamente
-    @GetMapping
-    public ResponseEntity<List<CategoriaDTO>> obtenerTodasLasCategorias() {
-        List<CategoriaDTO> categorias = categoriaService.obtenerTodasLasCategorias();
-        return ResponseEntity.ok(categorias);
-    }
-
-    // GET /api/categorias/{id} - Obtener categoría por ID
-    @GetMapping("/{id}")
-    public ResponseEntity<CategoriaDTO> obtenerCategoriaPorId(@PathVariable Long id) {
-        try {
-            CategoriaDTO categoria = categoriaService.obtenerCategoriaPorId(id);
-            return ResponseEntity.ok(categoria);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
-    }
-
-    // POST /api/categorias - Crear nueva categoría
-    @PostMapping
-    public ResponseEntity<CategoriaDTO> crearCategoria(@Valid @RequestBody CategoriaCreateDTO categoriaDTO) {
-        try {
-            CategoriaDTO nuevaCategoria = categoriaService.crearCategoria(categoriaDTO);
-            return ResponseEntity.ok(nuevaCategoria);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
-    }
-
-    // PUT /api/categorias/{id} - Actualizar categoría
-    @PutMapping("/{id}")
-    public ResponseEntity<CategoriaDTO> actualizarCategoria(
-            @PathVariable Long id,
-            @Valid @RequestBody CategoriaUpdateDTO categoriaDTO) {
-        try {
-            CategoriaDTO categoriaActualizada = categoriaService.actualizarCategoria(id, categoriaDTO);
-            return ResponseEntity.ok(categoriaActualizada);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
-    }
-
-    // DELETE /api/categorias/{id} - Eliminar categoría
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> eliminarCategoria(@PathVariable Long id) {
-        try {
-            categoriaService.eliminarCategoria(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
-    }
-}
\ No newline at end of file
+package com.api.e_commerce.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.api.e_commerce.dto.categoria.CategoriaCreateDTO;
+import com.api.e_commerce.dto.categoria.CategoriaDTO;
+import com.api.e_commerce.dto.categoria.CategoriaUpdateDTO;
+import com.api.e_commerce.service.CategoriaService;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/categorias")
+public class CategoriaController {
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    /**
+     * GET /api/categorias - Obtener todas las categorías ordenadas
+     * alfabéticamente.
+     * Se sirve el JSON ya serializado del snapshot de CategoriaService con un
+     * ETag fuerte: si el cliente envía If-None-Match con el mismo ETag se
+     * responde 304 Not Modified sin cuerpo.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> obtenerTodasLasCategorias(ServletWebRequest request) {
+        return responderJson(categoriaService.obtenerListadoJson(), request);
+    }
+
+    // GET /api/categorias/{id} - Obtener categoría por ID (también con ETag)
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> obtenerCategoriaPorId(@PathVariable Long id, ServletWebRequest request) {
+        try {
+            return responderJson(categoriaService.obtenerCategoriaJson(id), request);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // POST /api/categorias - Crear nueva categoría
+    @PostMapping
+    public ResponseEntity<CategoriaDTO> crearCategoria(@Valid @RequestBody CategoriaCreateDTO categoriaDTO) {
+        try {
+            CategoriaDTO nuevaCategoria = categoriaService.crearCategoria(categoriaDTO);
+            return ResponseEntity.ok(nuevaCategoria);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // PUT /api/categorias/{id} - Actualizar categoría
+    @PutMapping("/{id}")
+    public ResponseEntity<CategoriaDTO> actualizarCategoria(
+            @PathVariable Long id,
+            @Valid @RequestBody CategoriaUpdateDTO categoriaDTO) {
+        try {
+            CategoriaDTO categoriaActualizada = categoriaService.actualizarCategoria(id, categoriaDTO);
+            return ResponseEntity.ok(categoriaActualizada);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // DELETE /api/categorias/{id} - Eliminar categoría
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> eliminarCategoria(@PathVariable Long id) {
+        try {
+            categoriaService.eliminarCategoria(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<byte[]> responderJson(CategoriaService.JsonConEtag json, ServletWebRequest request) {
+        // "no-cache": el cliente puede guardar la respuesta pero debe
+        // revalidarla con el ETag (sin esto Spring Security envía "no-store")
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+
+        // checkNotModified compara con If-None-Match y, si coincide, deja la
+        // respuesta en 304 con el ETag
+        if (request.checkNotModified(json.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.contenido());
+    }
+}
@@ -1,124 +1,289 @@
-package com.api.e_commerce.controller;
-
-import java.util.List;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.web.bind.annotation.*;
-
-import com.api.e_commerce.dto.producto.ProductoCreateDTO;
-import com.api.e_commerce.dto.producto.ProductoDTO;
-import com.api.e_commerce.dto.producto.ProductoUpdateDTO;
-import com.api.e_commerce.service.ProductoService;
-import jakarta.validation.Valid;
-
-@RestController
-@RequestMapping("/api/productos")
-public class ProductoController {
-
-    @Autowired
-    private ProductoService productoService;
-
-    // GET /api/productos - Obtener todos los productos ordenados alfabéticamente
-    @GetMapping
-    public ResponseEntity<List<ProductoDTO>> obtenerTodosLosProductos() {
-        List<ProductoDTO> productos = productoService.obtenerTodosLosProductos();
-        return ResponseEntity.ok(productos);
-    }
-
-    // GET /api/productos/{id} - Obtener producto por ID (detalle)
-    @GetMapping("/{id}")
-    public ResponseEntity<ProductoDTO> obtenerProductoPorId(@PathVariable Long id) {
-        try {
-            ProductoDTO producto = productoService.obtenerProductoPorId(id);
-            return ResponseEntity.ok(producto);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
-    }
-
-    // GET /api/productos/categoria/{categoryId} - Obtener productos por categoría
-    @GetMapping("/categoria/{categoryId}")
-    public ResponseEntity<List<ProductoDTO>> obtenerProductosPorCategoria(@PathVariable Long categoryId) {
-        List<ProductoDTO> productos = productoService.obtenerProductosPorCategoria(categoryId);
-        return ResponseEntity.ok(productos);
-    }
-
-    // GET /api/productos/buscar?nombre=laptop - Buscar productos por nombre
-    @GetMapping("/buscar")
-    public ResponseEntity<List<ProductoDTO>> buscarProductosPorNombre(@RequestParam String nombre) {
-        List<ProductoDTO> productos = productoService.buscarProductosPorNombre(nombre);
-        return ResponseEntity.ok(productos);
-    }
-
-    /**
-     * POST /api/productos
-     * Crear nuevo producto
-     * El usuarioId se obtiene automáticamente del token JWT (usuario autenticado)
-     * 
-     * Ejemplo de JSON:
-     * {
-     * "name": "Mouse Gamer",
-     * "description": "Mouse RGB con 7 botones",
-     * "price": 50.0,
-     * "stock": 15,
-     * "image": "https://example.com/mouse.jpg",
-     * "categoriasIds": [1, 2]
-     * }
-     */
-    @PostMapping
-    public ResponseEntity<?> crearProducto(
-            @Valid @RequestBody ProductoCreateDTO productoDTO,
-            Authentication authentication) {
-        try {
-            // Obtener el email del usuario autenticado desde el token JWT
-            String email = authentication.getName();
-
-            System.out.println("=== CREANDO PRODUCTO ===");
-            System.out.println("Email usuario: " + email);
-            System.out.println("Producto: " + productoDTO.getName());
-            System.out.println("Precio: " + productoDTO.getPrice());
-            System.out.println("Stock: " + productoDTO.getStock());
-
-            // Crear el producto usando el email del usuario autenticado
-            ProductoDTO nuevoProducto = productoService.crearProducto(productoDTO, email);
-
-            System.out.println("Producto creado exitosamente con ID: " + nuevoProducto.getId());
-
-            return ResponseEntity.ok(nuevoProducto);
-        } catch (Exception e) {
-            System.err.println("ERROR al crear producto: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
-        }
-    }
-
-    // PUT /api/productos/{id} - Actualizar producto (cualquier usuario autenticado)
-    @PutMapping("/{id}")
-    public ResponseEntity<ProductoDTO> actualizarProducto(
-            @PathVariable Long id,
-            @Valid @RequestBody ProductoUpdateDTO productoDTO) {
-        try {
-            ProductoDTO productoActualizado = productoService.actualizarProducto(id, productoDTO);
-            return ResponseEntity.ok(productoActualizado);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
-    }
-
-    // DELETE /api/productos/{id} - Eliminar producto (usuario admin)
-    @DeleteMapping("/{id}")
-    public ResponseEntity<?> eliminarProducto(@PathVariable Long id) {
-        try {
-            productoService.eliminarProducto(id);
-            return ResponseEntity.noContent().build();
-        } catch (com.api.e_commerce.exception.ProductoEnPedidosException ex) {
-            // Devolver 409 Conflict con los detalles de pedido que impiden la eliminación
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
-    }
-}
+package com.api.e_commerce.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.api.e_commerce.dto.busqueda.SugerenciaDTO;
+import com.api.e_commerce.dto.importacion.ResultadoImportacionDTO;
+import com.api.e_commerce.dto.pagina.CursorPaginaDTO;
+import com.api.e_commerce.dto.pagina.PaginaDTO;
+import com.api.e_commerce.dto.producto.ProductoCreateDTO;
+import com.api.e_commerce.dto.producto.ProductoDTO;
+import com.api.e_commerce.dto.producto.ProductoResumenDTO;
+import com.api.e_commerce.dto.producto.ProductoUpdateDTO;
+import com.api.e_commerce.service.ProductoExportService;
+import com.api.e_commerce.service.ProductoImportService;
+import com.api.e_commerce.service.ProductoService;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/productos")
+public class ProductoController {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoController.class);
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ProductoImportService productoImportService;
+
+    @Autowired
+    private ProductoExportService productoExportService;
+
+    // GET /api/productos - Obtener todos los productos ordenados alfabéticamente
+    @GetMapping
+    public ResponseEntity<List<ProductoDTO>> obtenerTodosLosProductos() {
+        List<ProductoDTO> productos = productoService.obtenerTodosLosProductos();
+        return ResponseEntity.ok(productos);
+    }
+
+    // GET /api/productos/{id} - Obtener producto por ID (detalle)
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductoDTO> obtenerProductoPorId(@PathVariable Long id) {
+        try {
+            ProductoDTO producto = productoService.obtenerProductoPorId(id);
+            return ResponseEntity.ok(producto);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // GET /api/productos/categoria/{categoryId} - Obtener productos por categoría
+    @GetMapping("/categoria/{categoryId}")
+    public ResponseEntity<List<ProductoDTO>> obtenerProductosPorCategoria(@PathVariable Long categoryId) {
+        List<ProductoDTO> productos = productoService.obtenerProductosPorCategoria(categoryId);
+        return ResponseEntity.ok(productos);
+    }
+
+    // GET /api/productos/buscar?nombre=laptop - Buscar productos por nombre o
+    // descripción (cada palabra como prefijo), ordenados por relevancia. Devuelve
+    // como máximo 100 resultados; para recorrerlos todos usar /buscar/pagina
+    @GetMapping("/buscar")
+    public ResponseEntity<List<ProductoDTO>> buscarProductosPorNombre(@RequestParam String nombre) {
+        List<ProductoDTO> productos = productoService.buscarProductosPorNombre(nombre);
+        return ResponseEntity.ok(productos);
+    }
+
+    // GET /api/productos/sugerencias?prefijo=note&limite=8 - Autocompletado de
+    // nombres de productos y categorías, ordenado por popularidad
+    @GetMapping("/sugerencias")
+    public ResponseEntity<List<SugerenciaDTO>> obtenerSugerencias(
+            @RequestParam String prefijo,
+            @RequestParam(defaultValue = "8") int limite) {
+        return ResponseEntity.ok(productoService.obtenerSugerencias(prefijo, limite));
+    }
+
+    // GET /api/productos/pagina?pagina=0&tamanio=20 - Catálogo paginado
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<ProductoDTO>> obtenerProductosPaginados(
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return ResponseEntity.ok(productoService.obtenerProductosPaginados(pagina, tamanio));
+    }
+
+    // GET /api/productos/categoria/{categoryId}/pagina?pagina=0&tamanio=20 -
+    // Productos de una categoría, paginados
+    @GetMapping("/categoria/{categoryId}/pagina")
+    public ResponseEntity<PaginaDTO<ProductoDTO>> obtenerProductosPorCategoriaPaginados(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return ResponseEntity.ok(productoService.obtenerProductosPorCategoriaPaginados(categoryId, pagina, tamanio));
+    }
+
+    // GET /api/productos/buscar/pagina?nombre=laptop&pagina=0&tamanio=20 -
+    // Misma búsqueda y orden que /buscar, paginada y sin límite de resultados
+    @GetMapping("/buscar/pagina")
+    public ResponseEntity<PaginaDTO<ProductoDTO>> buscarProductosPorNombrePaginados(
+            @RequestParam String nombre,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return ResponseEntity.ok(productoService.buscarProductosPorNombrePaginados(nombre, pagina, tamanio));
+    }
+
+    /**
+     * GET /api/productos/cursor?cursor=...&tamanio=20
+     * Catálogo paginado por cursor (keyset sobre nombre e id).
+     * La primera página se pide sin cursor; cada respuesta trae
+     * "siguienteCursor" para pedir la próxima (null cuando no hay más).
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPaginaDTO<ProductoDTO>> obtenerProductosPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return ResponseEntity.ok(productoService.obtenerProductosPorCursor(cursor, tamanio));
+    }
+
+    // GET /api/productos/resumen?pagina=0&tamanio=20 - Listado liviano del
+    // catálogo (sin descripción, categorías ni usuario)
+    @GetMapping("/resumen")
+    public ResponseEntity<PaginaDTO<ProductoResumenDTO>> obtenerResumenesPaginados(
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return ResponseEntity.ok(productoService.obtenerResumenesPaginados(pagina, tamanio));
+    }
+
+    // GET /api/productos/resumen/cursor?cursor=...&tamanio=20 - Listado liviano
+    // paginado por cursor
+    @GetMapping("/resumen/cursor")
+    public ResponseEntity<CursorPaginaDTO<ProductoResumenDTO>> obtenerResumenesPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        return ResponseEntity.ok(productoService.obtenerResumenesPorCursor(cursor, tamanio));
+    }
+
+    /**
+     * POST /api/productos
+     * Crear nuevo producto
+     * El usuarioId se obtiene automáticamente del token JWT (usuario autenticado)
+     * 
+     * Ejemplo de JSON:
+     * {
+     * "name": "Mouse Gamer",
+     * "description": "Mouse RGB con 7 botones",
+     * "price": 50.0,
+     * "stock": 15,
+     * "image": "https://example.com/mouse.jpg",
+     * "categoriasIds": [1, 2]
+     * }
+     */
+    @PostMapping
+    public ResponseEntity<?> crearProducto(
+            @Valid @RequestBody ProductoCreateDTO productoDTO,
+            Authentication authentication) {
+        try {
+            // Obtener el email del usuario autenticado desde el token JWT
+            String email = authentication.getName();
+
+            log.debug("Creando producto '{}' (precio {}, stock {}) para {}",
+                    productoDTO.getName(), productoDTO.getPrice(), productoDTO.getStock(), email);
+
+            // Crear el producto usando el email del usuario autenticado
+            ProductoDTO nuevoProducto = productoService.crearProducto(productoDTO, email);
+
+            log.info("Producto creado con ID {} por {}", nuevoProducto.getId(), email);
+
+            return ResponseEntity.ok(nuevoProducto);
+        } catch (Exception e) {
+            log.warn("Error al crear producto '{}': {}", productoDTO.getName(), e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * POST /api/productos/importar
+     * Importación masiva de productos (solo ADMIN). El cuerpo se procesa por
+     * streaming según el Content-Type:
+     * - text/csv: cabecera name,description,price,stock,image,categorias
+     * (categorias con IDs separados por |)
+     * - application/x-ndjson: un ProductoCreateDTO en JSON por línea
+     * Responde con la cantidad de productos importados y los errores por fila.
+     */
+    @PostMapping(value = "/importar", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ResultadoImportacionDTO> importarProductos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream cuerpo,
+            Authentication authentication) throws IOException {
+        MediaType tipo = MediaType.parseMediaType(contentType);
+        Charset charset = tipo.getCharset() != null ? tipo.getCharset() : StandardCharsets.UTF_8;
+
+        ResultadoImportacionDTO resultado = tipo.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? productoImportService.importarNdjson(cuerpo, charset, authentication.getName())
+                : productoImportService.importarCsv(cuerpo, charset, authentication.getName());
+        return ResponseEntity.ok(resultado);
+    }
+
+    /**
+     * GET /api/productos/exportar - Exportar el catálogo activo (usuario admin).
+     * La respuesta se escribe por streaming a medida que se leen los productos,
+     * sin armar la lista completa en memoria. Con Accept: application/x-ndjson
+     * se devuelve un producto por línea; si no, un arreglo JSON. Si ya hay
+     * productos.exportacion.maximo-concurrentes exportaciones en curso responde
+     * 503 sin empezar la descarga.
+     */
+    @GetMapping(value = "/exportar", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<StreamingResponseBody> exportarProductos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+
+        productoExportService.reservarExportacion();
+        StreamingResponseBody cuerpo = salida -> {
+            try {
+                if (ndjson) {
+                    log.info("Exportados {} productos (NDJSON)", productoExportService.exportarNdjson(salida));
+                } else {
+                    log.info("Exportados {} productos (JSON)", productoExportService.exportarJson(salida));
+                }
+            } finally {
+                productoExportService.liberarExportacion();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"productos." + (ndjson ? "ndjson" : "json") + "\"")
+                .body(cuerpo);
+    }
+
+    // PUT /api/productos/{id} - Actualizar producto (cualquier usuario autenticado)
+    @PutMapping("/{id}")
+    public ResponseEntity<ProductoDTO> actualizarProducto(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductoUpdateDTO productoDTO) {
+        try {
+            ProductoDTO productoActualizado = productoService.actualizarProducto(id, productoDTO);
+            return ResponseEntity.ok(productoActualizado);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // POST /api/productos/{id}/archivar - Retirar un producto del catálogo sin
+    // eliminarlo (usuario admin). Sirve para productos con pedidos, que no
+    // pueden eliminarse; un ID inexistente responde 404
+    @PostMapping("/{id}/archivar")
+    public ResponseEntity<Void> archivarProducto(@PathVariable Long id) {
+        productoService.archivarProducto(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // POST /api/productos/{id}/desarchivar - Devolver al catálogo un producto
+    // archivado (usuario admin); un ID inexistente responde 404
+    @PostMapping("/{id}/desarchivar")
+    public ResponseEntity<Void> desarchivarProducto(@PathVariable Long id) {
+        productoService.desarchivarProducto(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // DELETE /api/productos/{id} - Eliminar producto (usuario admin)
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> eliminarProducto(@PathVariable Long id) {
+        try {
+            productoService.eliminarProducto(id);
+            return ResponseEntity.noContent().build();
+        } catch (com.api.e_commerce.exception.ProductoEnPedidosException ex) {
+            // Devolver 409 Conflict con los detalles de pedido que impiden la eliminación
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,17 +1,17 @@
-package com.api.e_commerce.dto.auth;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class RegisterRequest {
-    private String nombre;
-    private String apellido;
-    private String email;
-    private String password;
+package com.api.e_commerce.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegisterRequest {
+    private String nombre;
+    private String apellido;
+    private String email;
+    private String password;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.api.e_commerce.dto.busqueda;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de una sugerencia de autocompletado
+ * tipo es "PRODUCTO" o "CATEGORIA"; id permite navegar directo al detalle
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugerenciaDTO {
+    private String texto;
+    private String tipo;
+    private Long id;
+}
@@ -0,0 +1,17 @@
+package com.api.e_commerce.dto.importacion;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el error de una fila de la importación masiva
+ * fila es el número de línea en el archivo (la cabecera CSV es la línea 1)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacionDTO {
+    private long fila;
+    private String mensaje;
+}
@@ -0,0 +1,23 @@
+package com.api.e_commerce.dto.importacion;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resultado de una importación masiva de productos
+ * errores trae como máximo los primeros errores (ver ProductoImportService);
+ * filasConError siempre tiene el total
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacionDTO {
+    private long filasProcesadas;
+    private long productosImportados;
+    private long filasConError;
+    private List<ErrorImportacionDTO> errores = new ArrayList<>();
+}
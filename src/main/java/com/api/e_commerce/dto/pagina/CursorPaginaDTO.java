@@ -0,0 +1,20 @@
+package com.api.e_commerce.dto.pagina;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para respuestas paginadas por cursor (keyset)
+ * siguienteCursor es null cuando no hay más resultados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPaginaDTO<T> {
+    private List<T> contenido;
+    private int tamanio;
+    private String siguienteCursor;
+}
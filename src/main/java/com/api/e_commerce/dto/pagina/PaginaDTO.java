@@ -0,0 +1,37 @@
+package com.api.e_commerce.dto.pagina;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * DTO para respuestas paginadas por número de página (page/size)
+ * Usado en GET requests de listados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    private List<T> contenido;
+    private int pagina;
+    private int tamanio;
+    private long totalElementos;
+    private int totalPaginas;
+
+    /**
+     * Arma la respuesta a partir de la página de Spring Data y su contenido ya
+     * convertido a DTOs
+     */
+    public static <T> PaginaDTO<T> de(Page<?> page, List<T> contenido) {
+        return new PaginaDTO<>(
+                contenido,
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages());
+    }
+}
@@ -0,0 +1,49 @@
+package com.api.e_commerce.dto.pedido;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.api.e_commerce.model.Pedido;
+
+/**
+ * Cursor para la paginación keyset del historial de pedidos.
+ * Guarda el último (fechaPedido, id) devuelto, codificado en Base64 URL-safe
+ * para que el cliente lo trate como un token opaco.
+ */
+public record PedidoCursor(LocalDateTime fechaPedido, Long id) {
+
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Crea el cursor que apunta justo después del pedido recibido
+     */
+    public static PedidoCursor despuesDe(Pedido pedido) {
+        return new PedidoCursor(pedido.getFechaPedido(), pedido.getId());
+    }
+
+    /**
+     * Codifica el cursor como token opaco
+     */
+    public String codificar() {
+        String valor = id + String.valueOf(SEPARADOR) + fechaPedido;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token recibido del cliente
+     *
+     * @throws IllegalArgumentException si el token no es un cursor válido
+     */
+    public static PedidoCursor decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            Long id = Long.valueOf(valor.substring(0, separador));
+            return new PedidoCursor(LocalDateTime.parse(valor.substring(separador + 1)), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + token);
+        }
+    }
+}
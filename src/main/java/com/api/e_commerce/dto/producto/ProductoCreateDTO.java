@@ -1,39 +1,39 @@
-package com.api.e_commerce.dto.producto;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.DecimalMin;
-import jakarta.validation.constraints.Min;
-
-import java.math.BigDecimal;
-import java.util.Set;
-
-/**
- * DTO para crear nuevos productos
- * Usado en POST requests
- */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class ProductoCreateDTO {
-    @NotBlank(message = "El nombre del producto es obligatorio")
-    private String name;
-
-    private String description;
-
-    @NotNull(message = "El precio es obligatorio")
-    @DecimalMin(value = "0.0", inclusive = false, message = "El precio debe ser mayor a 0")
-    private BigDecimal price;
-
-    @NotNull(message = "El stock es obligatorio")
-    @Min(value = 0, message = "El stock no puede ser negativo")
-    private Integer stock;
-
-    @NotBlank(message = "La imagen es obligatoria")
-    private String image;
-
-    private Set<Long> categoriasIds;
-}
+package com.api.e_commerce.dto.producto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * DTO para crear nuevos productos
+ * Usado en POST requests
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoCreateDTO {
+    @NotBlank(message = "El nombre del producto es obligatorio")
+    private String name;
+
+    private String description;
+
+    @NotNull(message = "El precio es obligatorio")
+    @DecimalMin(value = "0.0", inclusive = false, message = "El precio debe ser mayor a 0")
+    private BigDecimal price;
+
+    @NotNull(message = "El stock es obligatorio")
+    @Min(value = 0, message = "El stock no puede ser negativo")
+    private Integer stock;
+
+    @NotBlank(message = "La imagen es obligatoria")
+    private String image;
+
+    private Set<Long> categoriasIds;
+}
@@ -0,0 +1,48 @@
+package com.api.e_commerce.dto.producto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.api.e_commerce.model.Producto;
+
+/**
+ * Cursor para la paginación keyset del catálogo.
+ * Guarda el último (name, id) devuelto, codificado en Base64 URL-safe para que
+ * el cliente lo trate como un token opaco.
+ */
+public record ProductoCursor(String name, Long id) {
+
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Crea el cursor que apunta justo después del producto recibido
+     */
+    public static ProductoCursor despuesDe(Producto producto) {
+        return new ProductoCursor(producto.getName(), producto.getId());
+    }
+
+    /**
+     * Codifica el cursor como token opaco
+     */
+    public String codificar() {
+        String valor = id + String.valueOf(SEPARADOR) + name;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token recibido del cliente
+     *
+     * @throws IllegalArgumentException si el token no es un cursor válido
+     */
+    public static ProductoCursor decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            Long id = Long.valueOf(valor.substring(0, separador));
+            return new ProductoCursor(valor.substring(separador + 1), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + token);
+        }
+    }
+}
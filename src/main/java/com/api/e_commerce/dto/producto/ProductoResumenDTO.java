@@ -0,0 +1,23 @@
+package com.api.e_commerce.dto.producto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO liviano para listados del catálogo
+ * Se construye directamente desde la consulta JPQL (constructor expression),
+ * sin cargar la entidad Producto ni su descripción (TEXT)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoResumenDTO {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer stock;
+    private String image;
+}
@@ -1,7 +1,7 @@
-package com.api.e_commerce.exception;
-
-public class EmailDuplicadoException extends RuntimeException {
-    public EmailDuplicadoException(String email) {
-        super("El email ya está registrado: " + email);
-    }
-}
+package com.api.e_commerce.exception;
+
+public class EmailDuplicadoException extends RuntimeException {
+    public EmailDuplicadoException(String email) {
+        super("El email ya está registrado: " + email);
+    }
+}
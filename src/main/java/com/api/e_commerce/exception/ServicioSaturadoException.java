@@ -0,0 +1,19 @@
+package com.api.e_commerce.exception;
+
+/**
+ * Excepción personalizada que se lanza cuando un recurso acotado (por ejemplo,
+ * el pool de hashing de contraseñas) está saturado y la operación se rechaza en
+ * lugar de encolarse indefinidamente.
+ * El cliente puede reintentar más tarde.
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    /**
+     * Constructor que recibe un mensaje personalizado.
+     * 
+     * @param mensaje El mensaje de error que se mostrará al usuario
+     */
+    public ServicioSaturadoException(String mensaje) {
+        super(mensaje);
+    }
+}
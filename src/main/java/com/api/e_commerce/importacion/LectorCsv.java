@@ -0,0 +1,93 @@
+package com.api.e_commerce.importacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV por streaming: devuelve un registro por vez sin cargar el archivo
+ * en memoria.
+ * 
+ * Soporta separador coma, campos entre comillas dobles (con comas, saltos de
+ * línea y comillas escapadas como "") y finales de línea LF o CRLF.
+ */
+public class LectorCsv {
+
+    private static final int SIN_PENDIENTE = -2;
+
+    private final Reader reader;
+    private int pendiente = SIN_PENDIENTE;
+    private long linea = 1;
+    private long lineaRegistro;
+
+    public LectorCsv(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Lee el siguiente registro.
+     * 
+     * @return Los campos del registro, o null al final del archivo
+     */
+    public List<String> leerRegistro() throws IOException {
+        int c = leer();
+        if (c == -1) {
+            return null;
+        }
+        lineaRegistro = linea;
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+
+        while (c != -1) {
+            char ch = (char) c;
+            if (entreComillas) {
+                if (ch == '"') {
+                    int siguiente = leer();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        pendiente = siguiente;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        linea++;
+                    }
+                    campo.append(ch);
+                }
+            } else if (ch == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else if (ch == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (ch == '\n') {
+                linea++;
+                break;
+            } else if (ch != '\r') {
+                campo.append(ch);
+            }
+            c = leer();
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    // Número de línea donde empieza el último registro leído
+    public long getLineaRegistro() {
+        return lineaRegistro;
+    }
+
+    private int leer() throws IOException {
+        if (pendiente != SIN_PENDIENTE) {
+            int c = pendiente;
+            pendiente = SIN_PENDIENTE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -1,47 +1,48 @@
-package com.api.e_commerce.model;
-
-import jakarta.persistence.*;
-import lombok.Getter;
-import lombok.Setter;
-import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.util.Set;
-import java.util.HashSet;
-import java.util.Objects;
-
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@Entity
-@Table(name = "categorias")
-public class Categoria {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false, unique = true)
-    private String name;
-
-    // Relación Many-to-Many con Producto (una categoría puede tener muchos
-    // productos)
-    @ManyToMany(mappedBy = "categorias", fetch = FetchType.LAZY)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "categorias", "usuario" })
-    private Set<Producto> productos = new HashSet<>();
-
-    // Override equals y hashCode para evitar problemas con lazy loading
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Categoria categoria = (Categoria) o;
-        return Objects.equals(id, categoria.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
-    }
-}
+package com.api.e_commerce.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Objects;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "categorias")
+public class Categoria {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "categorias_id")
+    @TableGenerator(name = "categorias_id", table = "id_generadores", pkColumnName = "entidad", valueColumnName = "siguiente_valor", pkColumnValue = "categorias", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    // Relación Many-to-Many con Producto (una categoría puede tener muchos
+    // productos)
+    @ManyToMany(mappedBy = "categorias", fetch = FetchType.LAZY)
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "categorias", "usuario" })
+    private Set<Producto> productos = new HashSet<>();
+
+    // Override equals y hashCode para evitar problemas con lazy loading
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Categoria categoria = (Categoria) o;
+        return Objects.equals(id, categoria.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,45 @@
+package com.api.e_commerce.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Importes monetarios en centavos (long con 2 decimales implícitos).
+ * 
+ * Los cálculos internos (subtotales, totales, agregaciones) se hacen con
+ * aritmética entera sobre centavos: son exactos y no crean objetos. BigDecimal
+ * se usa solo en los bordes (columnas DECIMAL(10,2) de la base y DTOs de la
+ * API), con las conversiones de esta clase.
+ * 
+ * Reglas: al convertir desde BigDecimal se redondea a 2 decimales con HALF_UP
+ * (0,005 -> 0,01); las sumas y productos fallan con ArithmeticException si
+ * desbordan en lugar de dar un resultado incorrecto.
+ */
+public final class Dinero {
+
+    private static final int ESCALA = 2;
+
+    private Dinero() {
+    }
+
+    /**
+     * Convierte un importe a centavos, redondeando a 2 decimales con HALF_UP.
+     * 
+     * @throws ArithmeticException si el importe no entra en un long
+     */
+    public static long centavos(BigDecimal importe) {
+        return importe.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    public static long sumar(long centavos, long otros) {
+        return Math.addExact(centavos, otros);
+    }
+
+    public static long multiplicar(long centavos, int cantidad) {
+        return Math.multiplyExact(centavos, (long) cantidad);
+    }
+}
@@ -1,54 +1,68 @@
-package com.api.e_commerce.model;
-
-import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.ArrayList;
-
-@Data
-@Entity
-@Table(name = "pedidos")
-@EqualsAndHashCode(exclude = { "detalles" })
-public class Pedido {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    // Usuario que realizó el pedido
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "usuario_id", nullable = false)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "pedidos", "password" })
-    private Usuario usuario;
-
-    // Fecha y hora del pedido
-    @Column(nullable = false)
-    private LocalDateTime fechaPedido;
-
-    // Monto total del pedido
-    @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal montoTotal;
-
-    // Detalles del pedido (productos con cantidades)
-    @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
-    private List<PedidoDetalle> detalles = new ArrayList<>();
-
-    // Constructor vacío
-    public Pedido() {
-        this.fechaPedido = LocalDateTime.now();
-        this.montoTotal = BigDecimal.ZERO;
-    }
-
-    // Método para calcular el monto total
-    @PrePersist
-    @PreUpdate
-    public void calcularMontoTotal() {
-        this.montoTotal = detalles.stream()
-                .map(PedidoDetalle::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
+package com.api.e_commerce.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.ArrayList;
+
+@Data
+@Entity
+@Table(name = "pedidos", indexes = {
+        // Historial de pedidos por usuario ordenado por fecha (keyset)
+        @Index(name = "idx_pedidos_usuario_fecha", columnList = "usuario_id, fecha_pedido"),
+        // Pedidos con stock pendiente de aplicar (MotorReservasStock)
+        @Index(name = "idx_pedidos_stock_aplicado", columnList = "stock_aplicado, id")
+})
+@EqualsAndHashCode(exclude = { "detalles" })
+public class Pedido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pedidos_id")
+    @TableGenerator(name = "pedidos_id", table = "id_generadores", pkColumnName = "entidad", valueColumnName = "siguiente_valor", pkColumnValue = "pedidos", allocationSize = 50)
+    private Long id;
+
+    // Usuario que realizó el pedido
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "pedidos", "password" })
+    private Usuario usuario;
+
+    // Fecha y hora del pedido
+    @Column(nullable = false)
+    private LocalDateTime fechaPedido;
+
+    // Monto total del pedido
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal montoTotal;
+
+    // Con el motor de reservas de stock el pedido se guarda antes de descontar
+    // productos.stock: queda en false hasta que la escritura en lote lo aplica
+    @Column(nullable = false)
+    private boolean stockAplicado = true;
+
+    // Detalles del pedido (productos con cantidades)
+    @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    private List<PedidoDetalle> detalles = new ArrayList<>();
+
+    // Constructor vacío
+    public Pedido() {
+        this.fechaPedido = LocalDateTime.now();
+        this.montoTotal = BigDecimal.ZERO;
+    }
+
+    // Método para calcular el monto total: suma los subtotales en centavos y
+    // convierte a BigDecimal una sola vez
+    @PrePersist
+    @PreUpdate
+    public void calcularMontoTotal() {
+        long totalCentavos = 0;
+        for (PedidoDetalle detalle : detalles) {
+            totalCentavos = Dinero.sumar(totalCentavos, detalle.getSubtotalCentavos());
+        }
+        this.montoTotal = Dinero.aBigDecimal(totalCentavos);
+    }
 }
\ No newline at end of file
@@ -1,63 +1,78 @@
-package com.api.e_commerce.model;
-
-import jakarta.persistence.*;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.math.BigDecimal;
-
-@Data
-@Entity
-@Table(name = "pedido_detalles")
-@EqualsAndHashCode(exclude = { "pedido" }) // Evitar referencias circulares en equals/hashcode
-public class PedidoDetalle {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    // Relación con Pedido
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "pedido_id", nullable = false)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "detalles" })
-    private Pedido pedido;
-
-    // Relación con Producto
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "producto_id", nullable = false)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
-    private Producto producto;
-
-    // Cantidad del producto en este pedido
-    @Column(nullable = false)
-    private Integer cantidad;
-
-    // Precio unitario al momento del pedido (para mantener histórico)
-    @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal precioUnitario;
-
-    // Subtotal calculado (cantidad * precioUnitario)
-    @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal subtotal;
-
-    // Método para calcular el subtotal automáticamente
-    @PrePersist
-    @PreUpdate
-    public void calcularSubtotal() {
-        if (cantidad != null && precioUnitario != null) {
-            this.subtotal = precioUnitario.multiply(BigDecimal.valueOf(cantidad));
-        }
-    }
-
-    // Constructor vacío
-    public PedidoDetalle() {
-    }
-
-    // Constructor con parámetros
-    public PedidoDetalle(Producto producto, Integer cantidad) {
-        this.producto = producto;
-        this.cantidad = cantidad;
-        this.precioUnitario = producto.getPrice();
-        calcularSubtotal();
-    }
+package com.api.e_commerce.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.math.BigDecimal;
+
+@Data
+@Entity
+@Table(name = "pedido_detalles")
+@EqualsAndHashCode(exclude = { "pedido" }) // Evitar referencias circulares en equals/hashcode
+public class PedidoDetalle {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pedido_detalles_id")
+    @TableGenerator(name = "pedido_detalles_id", table = "id_generadores", pkColumnName = "entidad", valueColumnName = "siguiente_valor", pkColumnValue = "pedido_detalles", allocationSize = 50)
+    private Long id;
+
+    // Relación con Pedido
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pedido_id", nullable = false)
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "detalles" })
+    private Pedido pedido;
+
+    // Relación con Producto
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "producto_id", nullable = false)
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+    private Producto producto;
+
+    // Cantidad del producto en este pedido
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    // Precio unitario al momento del pedido (para mantener histórico)
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal precioUnitario;
+
+    // Subtotal calculado (cantidad * precioUnitario)
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal subtotal;
+
+    // Subtotal en centavos (ver Dinero): lo usa Pedido para sumar el total sin
+    // aritmética de BigDecimal. No se persiste, se deriva de subtotal
+    @Transient
+    private long subtotalCentavos;
+
+    // Método para calcular el subtotal automáticamente
+    @PrePersist
+    @PreUpdate
+    public void calcularSubtotal() {
+        if (cantidad != null && precioUnitario != null) {
+            this.subtotalCentavos = Dinero.multiplicar(Dinero.centavos(precioUnitario), cantidad);
+            this.subtotal = Dinero.aBigDecimal(subtotalCentavos);
+        }
+    }
+
+    // Al leer de la base, los centavos se toman del subtotal guardado
+    @PostLoad
+    void cargarCentavos() {
+        if (subtotal != null) {
+            this.subtotalCentavos = Dinero.centavos(subtotal);
+        }
+    }
+
+    // Constructor vacío
+    public PedidoDetalle() {
+    }
+
+    // Constructor con parámetros
+    public PedidoDetalle(Producto producto, Integer cantidad) {
+        this.producto = producto;
+        this.cantidad = cantidad;
+        this.precioUnitario = producto.getPrice();
+        calcularSubtotal();
+    }
 }
\ No newline at end of file
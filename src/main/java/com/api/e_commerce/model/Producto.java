@@ -1,66 +1,75 @@
-package com.api.e_commerce.model;
-
-import jakarta.persistence.*;
-import lombok.Getter;
-import lombok.Setter;
-import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.math.BigDecimal;
-import java.util.Set;
-import java.util.HashSet;
-import java.util.Objects;
-
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@Entity
-@Table(name = "productos")
-public class Producto {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String name;
-
-    @Column(columnDefinition = "TEXT")
-    private String description;
-
-    @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
-
-    @Column(nullable = false)
-    private Integer stock;
-
-    @Column(nullable = false)
-    private String image;
-
-    // Relación Many-to-Many con Categoria (un producto puede tener muchas
-    // categorías)
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "producto_categoria", joinColumns = @JoinColumn(name = "producto_id"), inverseJoinColumns = @JoinColumn(name = "categoria_id"))
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "productos" })
-    private Set<Categoria> categorias = new HashSet<>();
-
-    // Usuario que creó/publica el producto
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "usuario_id", nullable = false)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "password", "pedidos" })
-    private Usuario usuario;
-
-    // Override equals y hashCode para evitar problemas con lazy loading
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Producto producto = (Producto) o;
-        return Objects.equals(id, producto.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
-    }
-}
+package com.api.e_commerce.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Objects;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "productos")
+public class Producto {
+    // IDs reservados de a 50 desde la tabla id_generadores: a diferencia de
+    // IDENTITY, Hibernate puede agrupar los INSERT en lotes (JDBC batch). Cada
+    // bloque se lee en una conexión del pool reservado (DataSourceConReserva)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "productos_id")
+    @TableGenerator(name = "productos_id", table = "id_generadores", pkColumnName = "entidad", valueColumnName = "siguiente_valor", pkColumnValue = "productos", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    @Column(nullable = false)
+    private String image;
+
+    // Los productos archivados dejan el catálogo pero se conservan para el
+    // historial de pedidos que los referencia
+    @Column(nullable = false)
+    private boolean activo = true;
+
+    // Relación Many-to-Many con Categoria (un producto puede tener muchas
+    // categorías)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "producto_categoria", joinColumns = @JoinColumn(name = "producto_id"), inverseJoinColumns = @JoinColumn(name = "categoria_id"))
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "productos" })
+    private Set<Categoria> categorias = new HashSet<>();
+
+    // Usuario que creó/publica el producto
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "password", "pedidos" })
+    private Usuario usuario;
+
+    // Override equals y hashCode para evitar problemas con lazy loading
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Producto producto = (Producto) o;
+        return Objects.equals(id, producto.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,20 @@
+package com.api.e_commerce.monitoreo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registra en la medición del hilo actual cada sentencia que Hibernate
+ * prepara. No modifica el SQL.
+ * Configurado con hibernate.session_factory.statement_inspector.
+ */
+public class InspectorSentenciasSql implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        MedicionSql medicion = MedicionSql.actual();
+        if (medicion != null) {
+            medicion.registrarSentencia(sql);
+        }
+        return sql;
+    }
+}
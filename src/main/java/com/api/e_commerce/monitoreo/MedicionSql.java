@@ -0,0 +1,141 @@
+package com.api.e_commerce.monitoreo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cuenta las sentencias SQL y el tiempo JDBC del hilo actual entre iniciar()
+ * y finalizar().
+ * 
+ * Los datos los aportan InspectorSentenciasSql (cada sentencia que prepara
+ * Hibernate) y TiempoJdbcListener (duración de cada ejecución), registrados en
+ * application.properties. PresupuestoSqlFilter abre una medición por petición
+ * HTTP; los tests pueden usarla directamente para fijar un presupuesto:
+ * 
+ * <pre>
+ * MedicionSql medicion = MedicionSql.medir(() -> servicio.listar());
+ * medicion.verificarMaximo(2);
+ * </pre>
+ * 
+ * Solo cuenta lo que ocurre en el mismo hilo que abrió la medición.
+ */
+public class MedicionSql {
+
+    // Umbral de consulta lenta cuando no se indica otro
+    public static final Duration UMBRAL_CONSULTA_LENTA_POR_DEFECTO = Duration.ofMillis(200);
+
+    // Cantidad máxima de sentencias y consultas lentas que se guardan como texto
+    // (para diagnóstico)
+    private static final int MAXIMO_SENTENCIAS_GUARDADAS = 50;
+
+    private static final ThreadLocal<MedicionSql> ACTUAL = new ThreadLocal<>();
+
+    private final MedicionSql anterior;
+    private final long umbralConsultaLentaNanos;
+    private final List<String> sentenciasEjecutadas = new ArrayList<>();
+    private final List<ConsultaLenta> consultasLentas = new ArrayList<>();
+    private int sentencias;
+    private long nanosJdbc;
+    private String ultimaSentencia;
+
+    // Consulta que superó el umbral, con su SQL parametrizado (la forma de los
+    // parámetros, sin sus valores)
+    public record ConsultaLenta(String sql, Duration duracion) {
+    }
+
+    private MedicionSql(MedicionSql anterior, Duration umbralConsultaLenta) {
+        this.anterior = anterior;
+        this.umbralConsultaLentaNanos = umbralConsultaLenta.toNanos();
+    }
+
+    public static MedicionSql iniciar() {
+        return iniciar(UMBRAL_CONSULTA_LENTA_POR_DEFECTO);
+    }
+
+    /**
+     * Abre una medición en el hilo actual. Si ya había una, queda suspendida
+     * hasta el finalizar() correspondiente.
+     */
+    public static MedicionSql iniciar(Duration umbralConsultaLenta) {
+        MedicionSql medicion = new MedicionSql(ACTUAL.get(), umbralConsultaLenta);
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    // Cierra la medición actual y devuelve sus resultados
+    public static MedicionSql finalizar() {
+        MedicionSql medicion = ACTUAL.get();
+        if (medicion == null) {
+            throw new IllegalStateException("No hay una medición SQL iniciada en este hilo");
+        }
+        if (medicion.anterior != null) {
+            ACTUAL.set(medicion.anterior);
+        } else {
+            ACTUAL.remove();
+        }
+        return medicion;
+    }
+
+    // Ejecuta la acción midiendo solo el SQL que ella genera
+    public static MedicionSql medir(Runnable accion) {
+        MedicionSql medicion = iniciar();
+        try {
+            accion.run();
+        } finally {
+            finalizar();
+        }
+        return medicion;
+    }
+
+    // Medición activa en el hilo actual (null si no hay)
+    static MedicionSql actual() {
+        return ACTUAL.get();
+    }
+
+    void registrarSentencia(String sql) {
+        sentencias++;
+        ultimaSentencia = sql;
+        if (sentenciasEjecutadas.size() < MAXIMO_SENTENCIAS_GUARDADAS) {
+            sentenciasEjecutadas.add(sql);
+        }
+    }
+
+    void registrarEjecucion(long nanos) {
+        nanosJdbc += nanos;
+        if (nanos >= umbralConsultaLentaNanos && consultasLentas.size() < MAXIMO_SENTENCIAS_GUARDADAS) {
+            consultasLentas.add(new ConsultaLenta(ultimaSentencia, Duration.ofNanos(nanos)));
+        }
+    }
+
+    /**
+     * Falla si se ejecutaron más sentencias que las permitidas, listando las
+     * sentencias para encontrar el origen (típicamente un N+1).
+     * 
+     * @throws AssertionError si se supera el presupuesto
+     */
+    public MedicionSql verificarMaximo(int maximo) {
+        if (sentencias > maximo) {
+            throw new AssertionError("Se esperaban como máximo " + maximo + " sentencias SQL y se ejecutaron "
+                    + sentencias + ":\n" + String.join("\n", sentenciasEjecutadas));
+        }
+        return this;
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public Duration getTiempoJdbc() {
+        return Duration.ofNanos(nanosJdbc);
+    }
+
+    public List<String> getSentenciasEjecutadas() {
+        return Collections.unmodifiableList(sentenciasEjecutadas);
+    }
+
+    public List<ConsultaLenta> getConsultasLentas() {
+        return Collections.unmodifiableList(consultasLentas);
+    }
+}
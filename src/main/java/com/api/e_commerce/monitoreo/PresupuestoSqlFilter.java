@@ -0,0 +1,82 @@
+package com.api.e_commerce.monitoreo;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mide las sentencias SQL y el tiempo JDBC de cada petición HTTP.
+ * 
+ * Publica por endpoint las métricas http.sql.sentencias y http.sql.tiempo.
+ * Si una petición supera sql.presupuesto.sentencias-por-peticion se registra
+ * un warning y se incrementa http.sql.presupuesto.excedido; así un N+1 nuevo
+ * en un mapper se ve en los logs y en las métricas antes de que sea un
+ * problema de latencia. Las consultas que tardan más que
+ * sql.presupuesto.consulta-lenta se registran con su SQL parametrizado y
+ * cuentan en sql.consultas.lentas.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PresupuestoSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PresupuestoSqlFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql.presupuesto.sentencias-por-peticion:20}")
+    private int sentenciasPorPeticion;
+
+    @Value("${sql.presupuesto.consulta-lenta:200ms}")
+    private Duration umbralConsultaLenta;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        MedicionSql.iniciar(umbralConsultaLenta);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            registrar(request, MedicionSql.finalizar());
+        }
+    }
+
+    private void registrar(HttpServletRequest request, MedicionSql medicion) {
+        // Patrón del endpoint (/api/productos/{id}) para no crear una serie por URL
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "NO_MAPEADA";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        meterRegistry.summary("http.sql.sentencias", tags).record(medicion.getSentencias());
+        meterRegistry.timer("http.sql.tiempo", tags).record(medicion.getTiempoJdbc());
+
+        if (medicion.getSentencias() > sentenciasPorPeticion) {
+            meterRegistry.counter("http.sql.presupuesto.excedido", tags).increment();
+            log.warn("{} {} ejecutó {} sentencias SQL ({} ms de JDBC), presupuesto {}",
+                    request.getMethod(), uri, medicion.getSentencias(),
+                    medicion.getTiempoJdbc().toMillis(), sentenciasPorPeticion);
+        }
+
+        for (MedicionSql.ConsultaLenta consulta : medicion.getConsultasLentas()) {
+            meterRegistry.counter("sql.consultas.lentas", tags).increment();
+            log.warn("Consulta lenta ({} ms) en {} {}: {}",
+                    consulta.duracion().toMillis(), request.getMethod(), uri, consulta.sql());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.api.e_commerce.monitoreo;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Mide la duración de cada ejecución JDBC (sentencias y lotes) de una sesión
+ * de Hibernate y la suma a la medición del hilo actual.
+ * Hibernate crea una instancia por sesión (hibernate.session.events.auto), y
+ * una sesión se usa desde un solo hilo.
+ */
+public class TiempoJdbcListener extends BaseSessionEventListener {
+
+    private long inicioEjecucion;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicioEjecucion = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        registrar();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicioEjecucion = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        registrar();
+    }
+
+    private void registrar() {
+        MedicionSql medicion = MedicionSql.actual();
+        if (medicion != null) {
+            medicion.registrarEjecucion(System.nanoTime() - inicioEjecucion);
+        }
+    }
+}
@@ -1,22 +1,45 @@
-package com.api.e_commerce.repository;
-
-import java.util.Optional;
-import java.util.List;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import com.api.e_commerce.model.Categoria;
-
-@Repository
-public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
-
-    // Buscar categoría por nombre
-    Optional<Categoria> findByName(String name);
-
-    // Verificar si existe una categoría con ese nombre
-    boolean existsByName(String name);
-
-    // Obtener todas las categorías ordenadas alfabéticamente
-    List<Categoria> findAllByOrderByNameAsc();
+package com.api.e_commerce.repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.e_commerce.model.Categoria;
+
+@Repository
+public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+
+    // Buscar categoría por nombre
+    Optional<Categoria> findByName(String name);
+
+    // Verificar si existe una categoría con ese nombre
+    boolean existsByName(String name);
+
+    // Obtener todas las categorías ordenadas alfabéticamente
+    List<Categoria> findAllByOrderByNameAsc();
+
+    // Cantidad de productos activos por categoría (ID de categoría, cantidad)
+    // con un solo COUNT agrupado sobre la tabla intermedia
+    @Query("SELECT c.id, COUNT(p) FROM Categoria c LEFT JOIN c.productos p ON p.activo = true GROUP BY c.id")
+    List<Object[]> contarProductosPorCategoria();
+
+    // Lo mismo, solo para algunas categorías (las afectadas por una escritura)
+    @Query("SELECT c.id, COUNT(p) FROM Categoria c LEFT JOIN c.productos p ON p.activo = true "
+            + "WHERE c.id IN :ids GROUP BY c.id")
+    List<Object[]> contarProductosPorCategorias(@Param("ids") Collection<Long> ids);
+
+    // Cantidad de productos activos de una categoría (sin cargar la colección)
+    @Query("SELECT COUNT(p) FROM Categoria c JOIN c.productos p WHERE c.id = :id AND p.activo = true")
+    long contarProductos(@Param("id") Long id);
+
+    // IDs de todas las categorías (para validar importaciones sin una consulta
+    // por fila)
+    @Query("SELECT c.id FROM Categoria c")
+    Set<Long> listarIds();
 }
\ No newline at end of file
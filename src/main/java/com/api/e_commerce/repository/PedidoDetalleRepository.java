@@ -1,31 +1,52 @@
-package com.api.e_commerce.repository;
-
-import java.util.List;
-import java.util.Optional;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
-
-import com.api.e_commerce.model.PedidoDetalle;
-
-@Repository
-public interface PedidoDetalleRepository extends JpaRepository<PedidoDetalle, Long> {
-
-    // Buscar detalles por pedido
-    List<PedidoDetalle> findByPedidoId(Long pedidoId);
-
-    // Buscar detalles por producto
-    List<PedidoDetalle> findByProductoId(Long productoId);
-
-    // Buscar detalle específico de un producto en un pedido
-    Optional<PedidoDetalle> findByPedidoIdAndProductoId(Long pedidoId, Long productoId);
-
-    // Eliminar todos los detalles de un pedido
-    void deleteByPedidoId(Long pedidoId);
-
-    // Contar cuántas veces se ha pedido un producto
-    @Query("SELECT COUNT(pd) FROM PedidoDetalle pd WHERE pd.producto.id = :productoId")
-    Long contarPedidosDeProducto(@Param("productoId") Long productoId);
-}
\ No newline at end of file
+package com.api.e_commerce.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.e_commerce.model.PedidoDetalle;
+
+@Repository
+public interface PedidoDetalleRepository extends JpaRepository<PedidoDetalle, Long> {
+
+    // Buscar detalles por pedido
+    List<PedidoDetalle> findByPedidoId(Long pedidoId);
+
+    // Verificar si un producto figura en algún pedido. Se resuelve con el índice
+    // de pedido_detalles.producto_id y se detiene en la primera fila, sin cargar
+    // los detalles
+    boolean existsByProductoId(Long productoId);
+
+    // Buscar detalle específico de un producto en un pedido. Filtra por las
+    // claves foráneas de pedido_detalles (índice pedido_id, producto_id): el
+    // método derivado unía pedidos y productos y filtraba por sus IDs
+    @Query("SELECT d FROM PedidoDetalle d WHERE d.pedido.id = :pedidoId AND d.producto.id = :productoId")
+    Optional<PedidoDetalle> findByPedidoIdAndProductoId(@Param("pedidoId") Long pedidoId,
+            @Param("productoId") Long productoId);
+
+    // Eliminar todos los detalles de un pedido
+    void deleteByPedidoId(Long pedidoId);
+
+    // Contar cuántas veces se ha pedido un producto
+    @Query("SELECT COUNT(pd) FROM PedidoDetalle pd WHERE pd.producto.id = :productoId")
+    Long contarPedidosDeProducto(@Param("productoId") Long productoId);
+
+    // Unidades vendidas de un producto (se lee del índice producto_id, cantidad)
+    @Query("SELECT COALESCE(SUM(pd.cantidad), 0) FROM PedidoDetalle pd WHERE pd.producto.id = :productoId")
+    long sumarCantidadVendida(@Param("productoId") Long productoId);
+
+    // Unidades vendidas por producto (ID de producto, suma de cantidades)
+    @Query("SELECT pd.producto.id, SUM(pd.cantidad) FROM PedidoDetalle pd GROUP BY pd.producto.id")
+    List<Object[]> sumarCantidadesVendidasPorProducto();
+
+    // Unidades por producto de un conjunto de pedidos (ID de producto, suma de
+    // cantidades): el delta neto de stock que se escribe en lote
+    @Query("SELECT pd.producto.id, SUM(pd.cantidad) FROM PedidoDetalle pd WHERE pd.pedido.id IN :pedidoIds "
+            + "GROUP BY pd.producto.id")
+    List<Object[]> sumarCantidadesPorProducto(@Param("pedidoIds") Collection<Long> pedidoIds);
+}
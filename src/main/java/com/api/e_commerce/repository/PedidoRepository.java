@@ -1,11 +1,50 @@
-package com.api.e_commerce.repository;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import com.api.e_commerce.model.Pedido;
-
-@Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {
-    // Todos los métodos personalizados fueron removidos ya que no se usan
-}
\ No newline at end of file
+package com.api.e_commerce.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.e_commerce.model.Pedido;
+
+@Repository
+public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+
+    // Historial de un usuario con paginación keyset, del más reciente al más
+    // antiguo. Solo se leen los IDs: el índice (usuario_id, fecha_pedido)
+    // resuelve el filtro y el orden sin tocar el resto de la fila
+    @Query("SELECT p.id FROM Pedido p WHERE p.usuario.id = :usuarioId "
+            + "ORDER BY p.fechaPedido DESC, p.id DESC")
+    List<Long> buscarPrimerosIdsPorUsuario(@Param("usuarioId") Long usuarioId, Limit limit);
+
+    // Pedidos anteriores al último (fechaPedido, id) entregado
+    @Query("SELECT p.id FROM Pedido p WHERE p.usuario.id = :usuarioId "
+            + "AND (p.fechaPedido < :fechaPedido OR (p.fechaPedido = :fechaPedido AND p.id < :id)) "
+            + "ORDER BY p.fechaPedido DESC, p.id DESC")
+    List<Long> buscarSiguientesIdsPorUsuario(@Param("usuarioId") Long usuarioId,
+            @Param("fechaPedido") LocalDateTime fechaPedido, @Param("id") Long id, Limit limit);
+
+    // Carga los pedidos de una página con sus detalles y productos en una sola
+    // consulta. El LIMIT se aplica antes, sobre los IDs, porque paginar un
+    // JOIN FETCH de colección obligaría a Hibernate a hacerlo en memoria
+    @Query("SELECT DISTINCT p FROM Pedido p LEFT JOIN FETCH p.detalles d LEFT JOIN FETCH d.producto "
+            + "WHERE p.id IN :ids")
+    List<Pedido> buscarConDetallesPorIds(@Param("ids") Collection<Long> ids);
+
+    // Pedidos cuyo stock todavía no se descontó de productos (motor de reservas),
+    // del más antiguo al más nuevo. Se resuelve con idx_pedidos_stock_aplicado
+    @Query("SELECT p.id FROM Pedido p WHERE p.stockAplicado = false ORDER BY p.id ASC")
+    List<Long> buscarIdsConStockPendiente(Limit limit);
+
+    // Marca los pedidos como aplicados. Devuelve cuántos seguían pendientes
+    // (menos que los pedidos si otra escritura ya los aplicó)
+    @Modifying
+    @Query("UPDATE Pedido p SET p.stockAplicado = true WHERE p.id IN :ids AND p.stockAplicado = false")
+    int marcarStockAplicado(@Param("ids") Collection<Long> ids);
+}
@@ -1,22 +1,116 @@
-package com.api.e_commerce.repository;
-
-import java.util.List;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import com.api.e_commerce.model.Producto;
-
-@Repository
-public interface ProductoRepository extends JpaRepository<Producto, Long> {
-
-    // Buscar productos por nombre
-    List<Producto> findByNameContainingIgnoreCase(String name);
-
-    // Ordenar productos alfabéticamente
-    List<Producto> findAllByOrderByNameAsc();
-
-    // Buscar productos por categoría ordenados alfabéticamente (relación
-    // ManyToMany)
-    List<Producto> findByCategoriasIdOrderByNameAsc(Long categoriaId);
+package com.api.e_commerce.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.e_commerce.dto.producto.ProductoResumenDTO;
+import com.api.e_commerce.model.Producto;
+
+@Repository
+public interface ProductoRepository extends JpaRepository<Producto, Long> {
+
+    // Las consultas de listado del catálogo traen el usuario en el mismo SELECT
+    // (@EntityGraph) porque ProductoMapper lo lee para cada producto. Las
+    // categorías se cargan por lotes gracias a hibernate.default_batch_fetch_size,
+    // así una página de N productos cuesta una cantidad fija de consultas.
+    // Los productos archivados (activo = false) no forman parte del catálogo:
+    // todas las consultas de listado y búsqueda filtran por activo
+
+    // Ordenar productos alfabéticamente
+    @EntityGraph(attributePaths = "usuario")
+    List<Producto> findByActivoTrueOrderByNameAsc();
+
+    // Buscar productos por categoría ordenados alfabéticamente (relación
+    // ManyToMany)
+    @EntityGraph(attributePaths = "usuario")
+    List<Producto> findByCategoriasIdAndActivoTrueOrderByNameAsc(Long categoriaId);
+
+    // Versiones paginadas de los listados del catálogo (el id desempata nombres
+    // repetidos para que el orden entre páginas sea estable)
+    @EntityGraph(attributePaths = "usuario")
+    Page<Producto> findByActivoTrueOrderByNameAscIdAsc(Pageable pageable);
+
+    @EntityGraph(attributePaths = "usuario")
+    Page<Producto> findByCategoriasIdAndActivoTrueOrderByNameAscIdAsc(Long categoriaId, Pageable pageable);
+
+    // Paginación keyset: primera página del catálogo ordenado por (name, id)
+    @EntityGraph(attributePaths = "usuario")
+    @Query("SELECT p FROM Producto p WHERE p.activo = true ORDER BY p.name ASC, p.id ASC")
+    List<Producto> buscarPrimerosPorNombre(Limit limit);
+
+    // Paginación keyset: productos posteriores al último (name, id) entregado.
+    // No usa OFFSET, así que una página profunda cuesta lo mismo que la primera
+    @EntityGraph(attributePaths = "usuario")
+    @Query("SELECT p FROM Producto p WHERE p.activo = true "
+            + "AND (p.name > :name OR (p.name = :name AND p.id > :id)) "
+            + "ORDER BY p.name ASC, p.id ASC")
+    List<Producto> buscarSiguientesPorNombre(@Param("name") String name, @Param("id") Long id, Limit limit);
+
+    // Proyecciones de solo lectura: leen las columnas del listado directamente a
+    // ProductoResumenDTO, sin entidades administradas ni la descripción
+    @Query(value = "SELECT new com.api.e_commerce.dto.producto.ProductoResumenDTO(p.id, p.name, p.price, p.stock, p.image) "
+            + "FROM Producto p WHERE p.activo = true ORDER BY p.name ASC, p.id ASC",
+            countQuery = "SELECT COUNT(p) FROM Producto p WHERE p.activo = true")
+    Page<ProductoResumenDTO> listarResumenes(Pageable pageable);
+
+    @Query("SELECT new com.api.e_commerce.dto.producto.ProductoResumenDTO(p.id, p.name, p.price, p.stock, p.image) "
+            + "FROM Producto p WHERE p.activo = true ORDER BY p.name ASC, p.id ASC")
+    List<ProductoResumenDTO> listarPrimerosResumenes(Limit limit);
+
+    @Query("SELECT new com.api.e_commerce.dto.producto.ProductoResumenDTO(p.id, p.name, p.price, p.stock, p.image) "
+            + "FROM Producto p WHERE p.activo = true "
+            + "AND (p.name > :name OR (p.name = :name AND p.id > :id)) "
+            + "ORDER BY p.name ASC, p.id ASC")
+    List<ProductoResumenDTO> listarSiguientesResumenes(@Param("name") String name, @Param("id") Long id,
+            Limit limit);
+
+    // Recorrido del catálogo por lotes de ID (para reconstruir índices en memoria)
+    List<Producto> findByIdGreaterThanAndActivoTrueOrderByIdAsc(Long id, Limit limit);
+
+    // Detalle de un producto del catálogo (los archivados no se muestran)
+    Optional<Producto> findByIdAndActivoTrue(Long id);
+
+    // IDs de las categorías de un producto (sin cargar la entidad)
+    @Query("SELECT c.id FROM Producto p JOIN p.categorias c WHERE p.id = :id")
+    List<Long> findCategoriaIdsByProductoId(@Param("id") Long id);
+
+    // Descontar stock de forma atómica: el UPDATE solo afecta la fila si hay
+    // stock suficiente, así dos checkouts concurrentes no pueden pisarse.
+    // Devuelve la cantidad de filas afectadas (0 si no hay stock o no existe)
+    @Modifying
+    @Query("UPDATE Producto p SET p.stock = p.stock - :cantidad WHERE p.id = :id AND p.stock >= :cantidad")
+    int descontarStock(@Param("id") Long id, @Param("cantidad") Integer cantidad);
+
+    // Restar unidades ya reservadas en memoria (MotorReservasStock), sin volver a
+    // validar: el motor garantiza que el stock alcanza
+    @Modifying
+    @Query("UPDATE Producto p SET p.stock = p.stock - :cantidad WHERE p.id = :id")
+    int restarStock(@Param("id") Long id, @Param("cantidad") Integer cantidad);
+
+    // Archivar un producto: lo retira del catálogo sin borrarlo, así sus pedidos
+    // conservan la referencia. Devuelve 0 si no existe o ya estaba archivado
+    @Modifying
+    @Query("UPDATE Producto p SET p.activo = false WHERE p.id = :id AND p.activo = true")
+    int archivar(@Param("id") Long id);
+
+    // Devolver un producto archivado al catálogo. Devuelve 0 si no existe o ya
+    // estaba activo
+    @Modifying
+    @Query("UPDATE Producto p SET p.activo = true WHERE p.id = :id AND p.activo = false")
+    int desarchivar(@Param("id") Long id);
+
+    // Leer el stock actual directamente de la base (sin pasar por el contexto de
+    // persistencia), usado para informar el error cuando el descuento falla
+    @Query("SELECT p.stock FROM Producto p WHERE p.id = :id")
+    Optional<Integer> obtenerStock(@Param("id") Long id);
 }
\ No newline at end of file
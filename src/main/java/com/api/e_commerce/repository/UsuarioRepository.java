@@ -1,18 +1,18 @@
-package com.api.e_commerce.repository;
-
-import java.util.Optional;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import com.api.e_commerce.model.Usuario;
-
-@Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-
-    // Buscar usuario por email (usado como username en la autenticación)
-    Optional<Usuario> findByEmail(String email);
-
-    // Verificar si existe un email
-    boolean existsByEmail(String email);
+package com.api.e_commerce.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.api.e_commerce.model.Usuario;
+
+@Repository
+public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+
+    // Buscar usuario por email (usado como username en la autenticación)
+    Optional<Usuario> findByEmail(String email);
+
+    // Verificar si existe un email
+    boolean existsByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,337 @@
+package com.api.e_commerce.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.api.e_commerce.dto.busqueda.SugerenciaDTO;
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.repository.CategoriaRepository;
+import com.api.e_commerce.repository.PedidoDetalleRepository;
+import com.api.e_commerce.repository.ProductoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Índice de prefijos en memoria para el autocompletado (search-as-you-type)
+ * sobre nombres de productos y categorías.
+ * 
+ * - Cada nombre se normaliza (minúsculas, sin tildes) y se registra una clave
+ * por cada palabra en la que puede empezar la búsqueda: "notebook lenovo" y
+ * "lenovo". Las claves se guardan ordenadas, así todas las que empiezan con un
+ * prefijo forman un rango contiguo.
+ * - Las sugerencias se ordenan por popularidad (unidades vendidas para
+ * productos, cantidad de productos para categorías). El top-k de cada prefijo
+ * consultado se guarda en una caché acotada, así las teclas más frecuentes se
+ * resuelven con una sola búsqueda en un mapa.
+ * - Cuando un nombre o una popularidad cambia, solo se invalidan los prefijos
+ * de las claves de esa entrada.
+ * 
+ * Se construye al iniciar la aplicación y los servicios lo actualizan
+ * incrementalmente al crear, renombrar o eliminar productos y categorías, al
+ * confirmar pedidos y, para la popularidad de las categorías, en cada escritura
+ * de productos que cambia cuántos tiene cada una.
+ */
+@Component
+public class AutocompletadoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompletadoIndex.class);
+
+    public static final String TIPO_PRODUCTO = "PRODUCTO";
+    public static final String TIPO_CATEGORIA = "CATEGORIA";
+
+    // Cantidad máxima de sugerencias por prefijo (lo que se guarda en la caché)
+    public static final int MAXIMO_SUGERENCIAS = 10;
+
+    // Separa el texto de la clave del ID de la entrada; al ser el menor
+    // carácter, "abc\0..." queda dentro del rango del prefijo "ab"
+    private static final char SEPARADOR = '\u0000';
+
+    private static final int LOTE_RECONSTRUCCION = 1000;
+
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final PedidoDetalleRepository pedidoDetalleRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // clave ("texto normalizado" + SEPARADOR + ID de entrada) -> ID de entrada
+    private final TreeMap<String, String> claves = new TreeMap<>();
+
+    // ID de entrada ("PRODUCTO:12", "CATEGORIA:3") -> entrada
+    private final Map<String, Entrada> entradas = new HashMap<>();
+
+    // prefijo consultado -> top MAXIMO_SUGERENCIAS ya calculado
+    private final Cache<String, List<SugerenciaDTO>> topPorPrefijo = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    public AutocompletadoIndex(ProductoRepository productoRepository, CategoriaRepository categoriaRepository,
+            PedidoDetalleRepository pedidoDetalleRepository) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.pedidoDetalleRepository = pedidoDetalleRepository;
+    }
+
+    // Una sugerencia posible con sus claves de búsqueda
+    private static final class Entrada {
+        private final String tipo;
+        private final Long id;
+        private final String texto;
+        private final List<String> claves;
+        private long popularidad;
+
+        private Entrada(String tipo, Long id, String texto, List<String> claves, long popularidad) {
+            this.tipo = tipo;
+            this.id = id;
+            this.texto = texto;
+            this.claves = claves;
+            this.popularidad = popularidad;
+        }
+    }
+
+    /**
+     * Construye el índice desde la base: productos con sus unidades vendidas y
+     * categorías con su cantidad de productos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+
+        Map<Long, Long> vendidosPorProducto = new HashMap<>();
+        for (Object[] fila : pedidoDetalleRepository.sumarCantidadesVendidasPorProducto()) {
+            vendidosPorProducto.put((Long) fila[0], ((Number) fila[1]).longValue());
+        }
+        Map<Long, Long> productosPorCategoria = new HashMap<>();
+        for (Object[] fila : categoriaRepository.contarProductosPorCategoria()) {
+            productosPorCategoria.put((Long) fila[0], ((Number) fila[1]).longValue());
+        }
+
+        lock.writeLock().lock();
+        try {
+            claves.clear();
+            entradas.clear();
+            topPorPrefijo.invalidateAll();
+
+            Long ultimoId = 0L;
+            List<Producto> lote;
+            do {
+                lote = productoRepository.findByIdGreaterThanAndActivoTrueOrderByIdAsc(ultimoId,
+                        Limit.of(LOTE_RECONSTRUCCION));
+                for (Producto producto : lote) {
+                    agregar(TIPO_PRODUCTO, producto.getId(), producto.getName(),
+                            vendidosPorProducto.getOrDefault(producto.getId(), 0L));
+                    ultimoId = producto.getId();
+                }
+            } while (lote.size() == LOTE_RECONSTRUCCION);
+
+            for (Categoria categoria : categoriaRepository.findAll()) {
+                agregar(TIPO_CATEGORIA, categoria.getId(), categoria.getName(),
+                        productosPorCategoria.getOrDefault(categoria.getId(), 0L));
+            }
+
+            log.info("Índice de autocompletado construido: {} entradas, {} claves en {} ms",
+                    entradas.size(), claves.size(), System.currentTimeMillis() - inicio);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve las sugerencias más populares que empiezan con el prefijo (en
+     * cualquier palabra del nombre).
+     * 
+     * @param prefijo Texto tipeado por el usuario
+     * @param limite  Cantidad de sugerencias (como máximo MAXIMO_SUGERENCIAS)
+     */
+    public List<SugerenciaDTO> sugerir(String prefijo, int limite) {
+        String normalizado = String.join(" ", TextoNormalizador.palabras(prefijo));
+        if (normalizado.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<SugerenciaDTO> top = topPorPrefijo.get(normalizado, this::calcularTop);
+            return top.subList(0, Math.min(limite, top.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega o renombra un producto conservando su popularidad
+     */
+    public void indexarProducto(Long id, String nombre) {
+        indexar(TIPO_PRODUCTO, id, nombre);
+    }
+
+    /**
+     * Agrega o renombra una categoría conservando su popularidad
+     */
+    public void indexarCategoria(Long id, String nombre) {
+        indexar(TIPO_CATEGORIA, id, nombre);
+    }
+
+    /**
+     * Agrega un producto con una popularidad dada (por ejemplo, al volver al
+     * catálogo después de archivarse, con las unidades que ya vendió)
+     */
+    public void indexarProducto(Long id, String nombre, long popularidad) {
+        lock.writeLock().lock();
+        try {
+            quitar(TIPO_PRODUCTO, id);
+            agregar(TIPO_PRODUCTO, id, nombre, popularidad);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminarProducto(Long id) {
+        eliminar(TIPO_PRODUCTO, id);
+    }
+
+    public void eliminarCategoria(Long id) {
+        eliminar(TIPO_CATEGORIA, id);
+    }
+
+    /**
+     * Actualiza la popularidad de categorías (su cantidad de productos)
+     * 
+     * @param productosPorCategoria ID de categoría -> cantidad de productos
+     */
+    public void actualizarPopularidadCategorias(Map<Long, Long> productosPorCategoria) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Long> cantidad : productosPorCategoria.entrySet()) {
+                Entrada entrada = entradas.get(idEntrada(TIPO_CATEGORIA, cantidad.getKey()));
+                if (entrada != null && entrada.popularidad != cantidad.getValue()) {
+                    entrada.popularidad = cantidad.getValue();
+                    invalidarPrefijos(entrada);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Suma popularidad a productos (unidades vendidas en un pedido confirmado)
+     * 
+     * @param cantidadesPorProducto ID de producto -> unidades vendidas
+     */
+    public void registrarVentas(Map<Long, Integer> cantidadesPorProducto) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Integer> venta : cantidadesPorProducto.entrySet()) {
+                Entrada entrada = entradas.get(idEntrada(TIPO_PRODUCTO, venta.getKey()));
+                if (entrada != null) {
+                    entrada.popularidad += venta.getValue();
+                    invalidarPrefijos(entrada);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexar(String tipo, Long id, String nombre) {
+        lock.writeLock().lock();
+        try {
+            Entrada anterior = quitar(tipo, id);
+            agregar(tipo, id, nombre, anterior != null ? anterior.popularidad : 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void eliminar(String tipo, Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(tipo, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Recorre el rango de claves del prefijo y se queda con las más populares.
+    // Se ejecuta con el read lock tomado
+    private List<SugerenciaDTO> calcularTop(String prefijo) {
+        Comparator<Entrada> porPopularidad = Comparator.<Entrada>comparingLong(e -> e.popularidad)
+                .thenComparing(e -> e.texto, Comparator.reverseOrder());
+        PriorityQueue<Entrada> top = new PriorityQueue<>(porPopularidad);
+        Set<String> vistas = new HashSet<>();
+
+        for (String idEntrada : claves.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values()) {
+            if (!vistas.add(idEntrada)) {
+                continue;
+            }
+            top.add(entradas.get(idEntrada));
+            if (top.size() > MAXIMO_SUGERENCIAS) {
+                top.poll();
+            }
+        }
+
+        List<SugerenciaDTO> resultado = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Entrada entrada = top.poll();
+            resultado.add(0, new SugerenciaDTO(entrada.texto, entrada.tipo, entrada.id));
+        }
+        return List.copyOf(resultado);
+    }
+
+    // Debe llamarse con el write lock tomado
+    private void agregar(String tipo, Long id, String nombre, long popularidad) {
+        String idEntrada = idEntrada(tipo, id);
+        List<String> palabras = TextoNormalizador.palabras(nombre);
+        List<String> clavesEntrada = new ArrayList<>(palabras.size());
+        for (int i = 0; i < palabras.size(); i++) {
+            String clave = String.join(" ", palabras.subList(i, palabras.size())) + SEPARADOR + idEntrada;
+            claves.put(clave, idEntrada);
+            clavesEntrada.add(clave);
+        }
+        Entrada entrada = new Entrada(tipo, id, nombre, clavesEntrada, popularidad);
+        entradas.put(idEntrada, entrada);
+        invalidarPrefijos(entrada);
+    }
+
+    // Debe llamarse con el write lock tomado
+    private Entrada quitar(String tipo, Long id) {
+        Entrada entrada = entradas.remove(idEntrada(tipo, id));
+        if (entrada != null) {
+            entrada.claves.forEach(claves::remove);
+            invalidarPrefijos(entrada);
+        }
+        return entrada;
+    }
+
+    // Invalida el top cacheado de cada prefijo de cada clave de la entrada
+    private void invalidarPrefijos(Entrada entrada) {
+        for (String clave : entrada.claves) {
+            int largo = clave.indexOf(SEPARADOR);
+            for (int i = 1; i <= largo; i++) {
+                topPorPrefijo.invalidate(clave.substring(0, i));
+            }
+        }
+    }
+
+    private static String idEntrada(String tipo, Long id) {
+        return tipo + ":" + id;
+    }
+}
@@ -0,0 +1,281 @@
+package com.api.e_commerce.search;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.repository.ProductoRepository;
+
+/**
+ * Índice invertido en memoria sobre el nombre y la descripción de los
+ * productos. Reemplaza el LIKE '%x%' (que recorre toda la tabla) en la búsqueda
+ * del catálogo.
+ * 
+ * - Cada término normalizado (ver TextoNormalizador) apunta a los productos que
+ * lo contienen, con un peso mayor si aparece en el nombre.
+ * - Los términos están ordenados, así cada palabra buscada se resuelve como
+ * prefijo con un rango del TreeMap ("note" encuentra "notebook").
+ * - Un producto debe coincidir con todas las palabras de la búsqueda; el
+ * ranking suma los pesos y favorece coincidencias exactas sobre prefijos.
+ * - Las palabras vacías ("la", "de", "con"...) no se indexan ni puntúan. En la
+ * consulta se ignoran si hay otras palabras ("funda para notebook"); si la
+ * consulta solo tiene palabras vacías se buscan como prefijo, así "la"
+ * encuentra "laptop" y "con" encuentra "consola".
+ * 
+ * Se reconstruye desde la base al iniciar la aplicación y ProductoService lo
+ * actualiza en cada alta, modificación o baja.
+ */
+@Component
+public class ProductoSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoSearchIndex.class);
+
+    // Peso de un término según dónde aparece
+    private static final int PESO_NOMBRE = 3;
+    private static final int PESO_DESCRIPCION = 1;
+
+    // Bonus cuando la palabra buscada coincide exactamente con el término
+    private static final int BONUS_EXACTO = 2;
+
+    // Tamaño de lote al reconstruir el índice desde la base
+    private static final int LOTE_RECONSTRUCCION = 1000;
+
+    // Orden por relevancia: mayor puntaje primero y, a igual puntaje, menor ID
+    private static final Comparator<Map.Entry<Long, Integer>> POR_RELEVANCIA = Map.Entry
+            .<Long, Integer>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey());
+
+    private final ProductoRepository productoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término -> (ID de producto -> peso)
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // ID de producto -> términos indexados (para poder desindexarlo)
+    private final Map<Long, Set<String>> terminosPorProducto = new HashMap<>();
+
+    public ProductoSearchIndex(ProductoRepository productoRepository) {
+        this.productoRepository = productoRepository;
+    }
+
+    /**
+     * Reconstruye el índice leyendo todos los productos por lotes de ID.
+     * Se ejecuta al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            terminosPorProducto.clear();
+
+            Long ultimoId = 0L;
+            List<Producto> lote;
+            do {
+                lote = productoRepository.findByIdGreaterThanAndActivoTrueOrderByIdAsc(ultimoId,
+                        Limit.of(LOTE_RECONSTRUCCION));
+                for (Producto producto : lote) {
+                    agregar(producto.getId(), producto.getName(), producto.getDescription());
+                    ultimoId = producto.getId();
+                }
+            } while (lote.size() == LOTE_RECONSTRUCCION);
+
+            log.info("Índice de búsqueda reconstruido: {} productos, {} términos en {} ms",
+                    terminosPorProducto.size(), postings.size(), System.currentTimeMillis() - inicio);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa (o reindexa) un producto
+     */
+    public void indexar(Long productoId, String nombre, String descripcion) {
+        lock.writeLock().lock();
+        try {
+            quitar(productoId);
+            agregar(productoId, nombre, descripcion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un producto del índice
+     */
+    public void eliminar(Long productoId) {
+        lock.writeLock().lock();
+        try {
+            quitar(productoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Los primeros resultados de una búsqueda y la cantidad total de productos
+     * que coinciden (para paginar sin ordenar todas las coincidencias)
+     */
+    public record Resultado(List<Long> ids, int total) {
+
+        private static final Resultado VACIO = new Resultado(List.of(), 0);
+    }
+
+    /**
+     * Busca productos que contengan todas las palabras de la consulta (cada una
+     * como prefijo de algún término).
+     * 
+     * @param consulta Texto ingresado por el usuario
+     * @param limite   Cantidad máxima de resultados
+     * @return IDs de productos ordenados por relevancia
+     */
+    public List<Long> buscar(String consulta, int limite) {
+        return buscarConTotal(consulta, limite).ids();
+    }
+
+    /**
+     * Igual que buscar, pero informa además cuántos productos coinciden en
+     * total. Solo se ordenan los `limite` más relevantes (un heap de ese
+     * tamaño), así el costo de una página depende de su posición y no de la
+     * cantidad de coincidencias.
+     * 
+     * @param consulta Texto ingresado por el usuario
+     * @param limite   Cantidad máxima de IDs a devolver
+     * @return Los IDs más relevantes, en orden, y el total de coincidencias
+     */
+    public Resultado buscarConTotal(String consulta, int limite) {
+        List<String> palabras = palabrasDeBusqueda(consulta);
+        if (palabras.isEmpty()) {
+            return Resultado.VACIO;
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> puntajes = null;
+            for (String palabra : new HashSet<>(palabras)) {
+                Map<Long, Integer> coincidencias = coincidenciasDe(palabra);
+                if (puntajes == null) {
+                    puntajes = coincidencias;
+                } else {
+                    // Intersección: el producto debe coincidir con todas las palabras
+                    puntajes.keySet().retainAll(coincidencias.keySet());
+                    for (Map.Entry<Long, Integer> entrada : puntajes.entrySet()) {
+                        entrada.setValue(entrada.getValue() + coincidencias.get(entrada.getKey()));
+                    }
+                }
+                if (puntajes.isEmpty()) {
+                    return Resultado.VACIO;
+                }
+            }
+
+            return new Resultado(masRelevantes(puntajes, limite), puntajes.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Los `limite` productos de mayor puntaje, en orden de relevancia. El heap
+    // tiene en la cima el peor de los retenidos, que sale si llega uno mejor
+    private static List<Long> masRelevantes(Map<Long, Integer> puntajes, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        if (limite >= puntajes.size()) {
+            return puntajes.entrySet().stream()
+                    .sorted(POR_RELEVANCIA)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        PriorityQueue<Map.Entry<Long, Integer>> retenidos = new PriorityQueue<>(limite + 1,
+                POR_RELEVANCIA.reversed());
+        for (Map.Entry<Long, Integer> entrada : puntajes.entrySet()) {
+            if (retenidos.size() < limite) {
+                retenidos.add(entrada);
+            } else if (POR_RELEVANCIA.compare(entrada, retenidos.peek()) < 0) {
+                retenidos.poll();
+                retenidos.add(entrada);
+            }
+        }
+        return retenidos.stream()
+                .sorted(POR_RELEVANCIA)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Palabras de la consulta que deben coincidir: las que no son vacías o, si
+    // la consulta solo tiene palabras vacías, todas (como prefijos)
+    private static List<String> palabrasDeBusqueda(String consulta) {
+        List<String> palabras = TextoNormalizador.palabras(consulta);
+        List<String> significativas = palabras.stream()
+                .filter(palabra -> !TextoNormalizador.esPalabraVacia(palabra))
+                .toList();
+        return significativas.isEmpty() ? palabras : significativas;
+    }
+
+    // Puntaje por producto para una palabra: el mejor término que la tenga como
+    // prefijo (con bonus si es exacto)
+    private Map<Long, Integer> coincidenciasDe(String palabra) {
+        Map<Long, Integer> coincidencias = new HashMap<>();
+        NavigableMap<String, Map<Long, Integer>> rango = postings.subMap(palabra, true,
+                palabra + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Map<Long, Integer>> termino : rango.entrySet()) {
+            int bonus = termino.getKey().equals(palabra) ? BONUS_EXACTO : 0;
+            for (Map.Entry<Long, Integer> posting : termino.getValue().entrySet()) {
+                coincidencias.merge(posting.getKey(), posting.getValue() + bonus, Math::max);
+            }
+        }
+        return coincidencias;
+    }
+
+    // Debe llamarse con el write lock tomado
+    private void agregar(Long productoId, String nombre, String descripcion) {
+        Set<String> terminos = new HashSet<>();
+        agregarTerminos(productoId, TextoNormalizador.tokenizar(nombre), PESO_NOMBRE, terminos);
+        agregarTerminos(productoId, TextoNormalizador.tokenizar(descripcion), PESO_DESCRIPCION, terminos);
+        terminosPorProducto.put(productoId, terminos);
+    }
+
+    private void agregarTerminos(Long productoId, Collection<String> tokens, int peso, Set<String> terminos) {
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> new HashMap<>()).merge(productoId, peso, Integer::sum);
+            terminos.add(token);
+        }
+    }
+
+    // Debe llamarse con el write lock tomado
+    private void quitar(Long productoId) {
+        Set<String> terminos = terminosPorProducto.remove(productoId);
+        if (terminos == null) {
+            return;
+        }
+        for (String termino : terminos) {
+            Map<Long, Integer> productos = postings.get(termino);
+            if (productos != null) {
+                productos.remove(productoId);
+                if (productos.isEmpty()) {
+                    postings.remove(termino);
+                }
+            }
+        }
+    }
+}
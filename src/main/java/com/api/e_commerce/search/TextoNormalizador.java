@@ -0,0 +1,75 @@
+package com.api.e_commerce.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades para normalizar texto antes de indexarlo o buscarlo.
+ * Pasa a minúsculas, quita tildes y diéresis (así "camión" y "camion" son el
+ * mismo término) y separa en palabras descartando las más comunes del español.
+ */
+public final class TextoNormalizador {
+
+    // Marcas diacríticas que quedan separadas después de descomponer (NFD)
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    // Cualquier cosa que no sea letra o número separa términos
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Palabras vacías: aparecen en casi todos los textos y no aportan al ranking
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "la", "las", "lo", "los",
+            "o", "para", "por", "sin", "su", "un", "una", "y");
+
+    private TextoNormalizador() {
+    }
+
+    /**
+     * Normaliza un texto: minúsculas y sin tildes
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return DIACRITICOS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Separa un texto en términos normalizados, sin palabras vacías
+     */
+    public static List<String> tokenizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        for (String termino : palabras(texto)) {
+            if (!PALABRAS_VACIAS.contains(termino)) {
+                terminos.add(termino);
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * Indica si una palabra ya normalizada es una palabra vacía
+     */
+    public static boolean esPalabraVacia(String palabra) {
+        return PALABRAS_VACIAS.contains(palabra);
+    }
+
+    /**
+     * Separa un texto en palabras normalizadas, conservando todas (incluidas
+     * las palabras vacías) y en el orden original
+     */
+    public static List<String> palabras(String texto) {
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : SEPARADORES.split(normalizar(texto))) {
+            if (!palabra.isEmpty()) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras;
+    }
+}
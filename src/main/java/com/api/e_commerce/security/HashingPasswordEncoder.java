@@ -0,0 +1,113 @@
+package com.api.e_commerce.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.api.e_commerce.exception.ServicioSaturadoException;
+
+/**
+ * PasswordEncoder que ejecuta BCrypt en un pool de hilos propio y acotado.
+ * 
+ * BCrypt es deliberadamente costoso en CPU. Si cada login lo ejecuta en un hilo
+ * de Tomcat, una ráfaga de logins ocupa todos los núcleos y el resto del
+ * tráfico (catálogo, checkout) se queda sin CPU. Con este encoder:
+ * - Como máximo `hilos` hashes corren a la vez.
+ * - Hasta `capacidadCola` pedidos esperan su turno; si la cola está llena, el
+ * pedido se rechaza con ServicioSaturadoException (503) en lugar de acumularse.
+ * - upgradeEncoding indica si un hash fue generado con otro costo, para que
+ * Spring Security lo regenere con el costo actual tras un login exitoso
+ * (ver CustomUserDetailsService.updatePassword).
+ */
+public class HashingPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final BCryptPasswordEncoder delegado;
+    private final int costo;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    /**
+     * @param costo         Costo (log2 de rondas) de BCrypt para hashes nuevos
+     * @param hilos         Cantidad de hashes que pueden ejecutarse en paralelo
+     * @param capacidadCola Cantidad de pedidos que pueden esperar turno
+     * @param timeout       Tiempo máximo de espera por un hash
+     */
+    public HashingPasswordEncoder(int costo, int hilos, int capacidadCola, Duration timeout) {
+        this.delegado = new BCryptPasswordEncoder(costo);
+        this.costo = costo;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ejecutar(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return ejecutar(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Un hash debe regenerarse si su costo difiere del configurado (en cualquier
+     * sentido), así se puede subir o bajar el costo según la latencia medida.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Formato BCrypt: $2a$10$... (el costo son los dos dígitos después de la versión)
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            int costoActual = Integer.parseInt(encodedPassword.substring(4, 6));
+            return costoActual != costo;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T ejecutar(Callable<T> tarea) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            throw new ServicioSaturadoException("Demasiadas solicitudes de autenticación, intente nuevamente");
+        }
+
+        try {
+            return futuro.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new ServicioSaturadoException("La autenticación tardó demasiado, intente nuevamente");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hilo interrumpido durante el hashing de la contraseña", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Error durante el hashing de la contraseña", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
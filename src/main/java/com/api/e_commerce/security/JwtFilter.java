@@ -1,63 +1,92 @@
-package com.api.e_commerce.security;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import java.io.IOException;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-@Component
-public class JwtFilter extends OncePerRequestFilter {
-    @Autowired
-    private JwtUtil jwtUtil;
-
-    /**
-     * Este método se ejecuta en cada petición HTTP para verificar si existe un
-     * token JWT válido.
-     * Dónde se utiliza:
-     * - Se configura en `SecurityConfig` para que se ejecute antes que el filtro de
-     * autenticación de Spring Security.
-     * - Intercepta todas las peticiones entrantes a la API.
-     */
-    @SuppressWarnings("null")
-    @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-            throws ServletException, IOException {
-        // 1. Obtiene el encabezado "Authorization" de la petición.
-        String header = request.getHeader("Authorization");
-
-        // 2. Verifica si el encabezado existe y si comienza con "Bearer ".
-        if (header != null && header.startsWith("Bearer ")) {
-            // extrae la parte del JWT de la cabecera de autorización, eliminando el prefijo
-            // "Bearer ".
-            String token = header.substring(7);
-            // 4. Valida el token usando `jwtUtil.validateToken()`.
-            if (jwtUtil.validateToken(token)) {
-                // 5. Si el token es válido, extrae el nombre de usuario y los roles del token.
-                String username = jwtUtil.getUsername(token);
-                Set<String> roles = jwtUtil.getRoles(token);
-
-                // transformar el conjunto de roles (cadenas de texto) en la lista de
-                // autoridades (permisos) que Spring Security necesita para verificar si el
-                // usuario tiene acceso a un recurso.
-                var authorities = roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
-                // usuario ya autenticado
-                // crea un objeto de autenticación con los detalles del usuario y sus roles
-                var auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
-                // 8. Finalmente, pasa la petición al siguiente filtro en la cadena.
-                SecurityContextHolder.getContext().setAuthentication(auth);
-            }
-        }
-
-        filterChain.doFilter(request, response);
-    }
-}
+package com.api.e_commerce.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class JwtFilter extends OncePerRequestFilter {
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Tiempo de validación del token (métrica jwt.validacion por resultado)
+    private Timer timerTokenValido;
+    private Timer timerTokenInvalido;
+
+    @PostConstruct
+    void registrarMetricas() {
+        timerTokenValido = timerValidacion("valido");
+        timerTokenInvalido = timerValidacion("invalido");
+    }
+
+    /**
+     * Este método se ejecuta en cada petición HTTP para verificar si existe un
+     * token JWT válido.
+     * Dónde se utiliza:
+     * - Se configura en `SecurityConfig` para que se ejecute antes que el filtro de
+     * autenticación de Spring Security.
+     * - Intercepta todas las peticiones entrantes a la API.
+     */
+    @SuppressWarnings("null")
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // 1. Obtiene el encabezado "Authorization" de la petición.
+        String header = request.getHeader("Authorization");
+
+        // 2. Verifica si el encabezado existe y si comienza con "Bearer ".
+        if (header != null && header.startsWith("Bearer ")) {
+            // extrae la parte del JWT de la cabecera de autorización, eliminando el prefijo
+            // "Bearer ".
+            String token = header.substring(7);
+            // 4. Valida el token y obtiene sus claims en un solo paso (una única
+            // verificación de firma; los tokens ya vistos salen de la caché).
+            Timer.Sample validacion = Timer.start(meterRegistry);
+            Optional<Claims> claims = jwtUtil.getValidClaims(token);
+            validacion.stop(claims.isPresent() ? timerTokenValido : timerTokenInvalido);
+            if (claims.isPresent()) {
+                // 5. Si el token es válido, extrae el nombre de usuario y los roles del token.
+                String username = claims.get().getSubject();
+                Set<String> roles = jwtUtil.getRoles(claims.get());
+
+                // transformar el conjunto de roles (cadenas de texto) en la lista de
+                // autoridades (permisos) que Spring Security necesita para verificar si el
+                // usuario tiene acceso a un recurso.
+                var authorities = roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+                // usuario ya autenticado
+                // crea un objeto de autenticación con los detalles del usuario y sus roles
+                var auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
+                // 8. Finalmente, pasa la petición al siguiente filtro en la cadena.
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Timer timerValidacion(String resultado) {
+        return Timer.builder("jwt.validacion")
+                .description("Duración de la validación del token JWT")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -1,102 +1,135 @@
-package com.api.e_commerce.security;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.web.cors.CorsConfigurationSource;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
-
-import java.util.List;
-
-@Configuration
-public class SecurityConfig {
-
-    private final JwtFilter jwtFilter;
-
-    public SecurityConfig(JwtFilter jwtFilter) {
-        this.jwtFilter = jwtFilter;
-    }
-
-    /**
-     * Configura la cadena de filtros de seguridad con reglas de autorización
-     * basadas en roles.
-     * Define qué endpoints son públicos, cuáles requieren autenticación y cuáles
-     * son solo para admins.
-     */
-    @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        http
-                .csrf(csrf -> csrf.disable()) // Desactiva CSRF (necesario para APIs REST)
-                .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Habilita CORS
-                .authorizeHttpRequests(auth -> auth
-                        // ========== ENDPOINTS PÚBLICOS (sin autenticación) ==========
-                        // Autenticación: Registro y Login
-                        .requestMatchers("/api/auth/register").permitAll()
-                        .requestMatchers("/api/auth/login").permitAll()
-
-                        // Productos: Solo lectura para todos (GET)
-                        .requestMatchers(HttpMethod.GET, "/api/productos").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/productos/{id}").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/productos/categoria/{categoryId}").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/productos/buscar").permitAll()
-
-                        // Categorías: Solo lectura para todos (GET)
-                        .requestMatchers(HttpMethod.GET, "/api/categorias").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/categorias/{id}").permitAll()
-
-                        // ========== ENDPOINTS SOLO PARA ADMINISTRADORES ==========
-                        // Productos: Crear, actualizar y eliminar (solo ADMIN)
-                        .requestMatchers(HttpMethod.POST, "/api/productos").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/productos/{id}").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.DELETE, "/api/productos/{id}").hasRole("ADMIN")
-
-                        // Categorías: Crear, actualizar y eliminar (solo ADMIN)
-                        .requestMatchers(HttpMethod.POST, "/api/categorias").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/categorias/{id}").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.DELETE, "/api/categorias/{id}").hasRole("ADMIN")
-
-                        // ========== ENDPOINTS PARA USUARIOS AUTENTICADOS ==========
-                        // Pedidos: Crear pedido (checkout) y consultar pedidos
-                        .requestMatchers(HttpMethod.POST, "/api/pedidos/checkout").authenticated()
-                        .requestMatchers(HttpMethod.GET, "/api/pedidos/{id}").authenticated()
-
-                        // ========== CUALQUIER OTRA RUTA ==========
-                        // Por defecto, cualquier otra ruta requiere autenticación
-                        .anyRequest().authenticated())
-                .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Sin sesiones
-                                                                                                        // (JWT)
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class); // Añade el filtro JWT
-
-        return http.build();
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // encripta contraseñas
-    }
-
-    @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
-    }
-
-    @Bean
-    public CorsConfigurationSource corsConfigurationSource() {
-        CorsConfiguration config = new CorsConfiguration();
-        config.setAllowedOrigins(List.of("http://localhost:5173", "https://127.0.0.1:5173"));
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("*"));
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", config);
-        return source;
-    }
-}
+package com.api.e_commerce.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class SecurityConfig {
+
+    private final JwtFilter jwtFilter;
+
+    public SecurityConfig(JwtFilter jwtFilter) {
+        this.jwtFilter = jwtFilter;
+    }
+
+    /**
+     * Configura la cadena de filtros de seguridad con reglas de autorización
+     * basadas en roles.
+     * Define qué endpoints son públicos, cuáles requieren autenticación y cuáles
+     * son solo para admins.
+     */
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .csrf(csrf -> csrf.disable()) // Desactiva CSRF (necesario para APIs REST)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Habilita CORS
+                .authorizeHttpRequests(auth -> auth
+                        // ========== ENDPOINTS PÚBLICOS (sin autenticación) ==========
+                        // Autenticación: Registro y Login
+                        .requestMatchers("/api/auth/register").permitAll()
+                        .requestMatchers("/api/auth/login").permitAll()
+
+                        // Exportación del catálogo: solo admin (va antes de /api/productos/{id},
+                        // que también la incluiría)
+                        .requestMatchers(HttpMethod.GET, "/api/productos/exportar").hasRole("ADMIN")
+
+                        // Productos: Solo lectura para todos (GET)
+                        .requestMatchers(HttpMethod.GET, "/api/productos").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/{id}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/categoria/{categoryId}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/buscar").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/sugerencias").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/pagina").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/categoria/{categoryId}/pagina").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/buscar/pagina").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/cursor").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/resumen").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/productos/resumen/cursor").permitAll()
+
+                        // Categorías: Solo lectura para todos (GET)
+                        .requestMatchers(HttpMethod.GET, "/api/categorias").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/categorias/{id}").permitAll()
+
+                        // Actuator: estado de la aplicación
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+
+                        // ========== ENDPOINTS SOLO PARA ADMINISTRADORES ==========
+                        // Actuator: métricas y cachés
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                        // Productos: Crear, actualizar y eliminar (solo ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/productos").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/productos/importar").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/productos/{id}/archivar").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/productos/{id}/desarchivar").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/productos/{id}").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/productos/{id}").hasRole("ADMIN")
+
+                        // Categorías: Crear, actualizar y eliminar (solo ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/categorias").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/categorias/{id}").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/categorias/{id}").hasRole("ADMIN")
+
+                        // ========== ENDPOINTS PARA USUARIOS AUTENTICADOS ==========
+                        // Pedidos: Crear pedido (checkout) y consultar pedidos
+                        .requestMatchers(HttpMethod.POST, "/api/pedidos/checkout").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/pedidos/mis-pedidos").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/pedidos/{id}").authenticated()
+
+                        // ========== CUALQUIER OTRA RUTA ==========
+                        // Por defecto, cualquier otra ruta requiere autenticación
+                        .anyRequest().authenticated())
+                .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Sin sesiones
+                                                                                                        // (JWT)
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class); // Añade el filtro JWT
+
+        return http.build();
+    }
+
+    /**
+     * Encripta contraseñas con BCrypt en un pool de hilos acotado (ver
+     * HashingPasswordEncoder), así una ráfaga de logins no deja sin CPU al resto
+     * de las peticiones.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-costo:10}") int costo,
+            @Value("${security.password.hilos:0}") int hilos,
+            @Value("${security.password.capacidad-cola:100}") int capacidadCola,
+            @Value("${security.password.timeout:5s}") Duration timeout) {
+        // Por defecto, un hilo de hashing por núcleo disponible
+        int hilosEfectivos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        return new HashingPasswordEncoder(costo, hilosEfectivos, capacidadCola, timeout);
+    }
+
+    @Bean
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
+        return config.getAuthenticationManager();
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of("http://localhost:5173", "https://127.0.0.1:5173"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedHeaders(List.of("*"));
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", config);
+        return source;
+    }
+}
@@ -1,76 +1,270 @@
-package com.api.e_commerce.service;
-
-import java.util.List;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import com.api.e_commerce.model.Categoria;
-import com.api.e_commerce.repository.CategoriaRepository;
-import com.api.e_commerce.dto.categoria.CategoriaCreateDTO;
-import com.api.e_commerce.dto.categoria.CategoriaDTO;
-import com.api.e_commerce.dto.categoria.CategoriaMapper;
-import com.api.e_commerce.dto.categoria.CategoriaUpdateDTO;
-import com.api.e_commerce.exception.CategoriaNotFoundException;
-import com.api.e_commerce.exception.CategoriaDuplicadaException;
-
-@Service
-@Transactional
-public class CategoriaService {
-
-    @Autowired
-    private CategoriaRepository categoriaRepository;
-
-    @Autowired
-    private CategoriaMapper categoriaMapper;
-
-    // Obtener todas las categorías ordenadas alfabéticamente
-    public List<CategoriaDTO> obtenerTodasLasCategorias() {
-        List<Categoria> categorias = categoriaRepository.findAllByOrderByNameAsc();
-        return categoriaMapper.toDTOList(categorias);
-    }
-
-    // Obtener categoría por ID
-    public CategoriaDTO obtenerCategoriaPorId(Long id) {
-        Categoria categoria = categoriaRepository.findById(id)
-                .orElseThrow(() -> new CategoriaNotFoundException(id));
-        return categoriaMapper.toDTO(categoria);
-    }
-
-    // Crear nueva categoría
-    public CategoriaDTO crearCategoria(CategoriaCreateDTO dto) {
-        // Verificar que no existe una categoría con el mismo nombre
-        if (categoriaRepository.existsByName(dto.getName())) {
-            throw new CategoriaDuplicadaException(dto.getName(), false);
-        }
-
-        Categoria categoria = categoriaMapper.toEntity(dto);
-        Categoria categoriaGuardada = categoriaRepository.save(categoria);
-        return categoriaMapper.toDTO(categoriaGuardada);
-    }
-
-    // Actualizar categoría
-    public CategoriaDTO actualizarCategoria(Long id, CategoriaUpdateDTO dto) {
-        Categoria categoria = categoriaRepository.findById(id)
-                .orElseThrow(() -> new CategoriaNotFoundException(id));
-
-        // Verificar que no existe otra categoría con el mismo nombre
-        if (!categoria.getName().equals(dto.getName()) &&
-                categoriaRepository.existsByName(dto.getName())) {
-            throw new CategoriaDuplicadaException(dto.getName(), true);
-        }
-
-        categoriaMapper.updateEntity(categoria, dto);
-        Categoria categoriaActualizada = categoriaRepository.save(categoria);
-        return categoriaMapper.toDTO(categoriaActualizada);
-    }
-
-    // Eliminar categoría
-    public void eliminarCategoria(Long id) {
-        if (!categoriaRepository.existsById(id)) {
-            throw new CategoriaNotFoundException(id);
-        }
-        categoriaRepository.deleteById(id);
-    }
+package com.api.e_commerce.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import com.api.e_commerce.config.CacheConfig;
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.repository.CategoriaRepository;
+import com.api.e_commerce.dto.categoria.CategoriaCreateDTO;
+import com.api.e_commerce.dto.categoria.CategoriaDTO;
+import com.api.e_commerce.dto.categoria.CategoriaMapper;
+import com.api.e_commerce.dto.categoria.CategoriaUpdateDTO;
+import com.api.e_commerce.exception.CategoriaNotFoundException;
+import com.api.e_commerce.exception.CategoriaDuplicadaException;
+import com.api.e_commerce.search.AutocompletadoIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+@Service
+@Transactional
+public class CategoriaService {
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private CategoriaMapper categoriaMapper;
+
+    @Autowired
+    private AutocompletadoIndex autocompletadoIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Respuesta JSON ya serializada junto con su ETag fuerte (hash del
+     * contenido). No se debe modificar el arreglo de bytes.
+     */
+    public record JsonConEtag(byte[] contenido, String etag) {
+    }
+
+    // Listado y detalle de cada categoría, serializados una sola vez
+    private record SnapshotCategorias(JsonConEtag listado, Map<Long, JsonConEtag> porId) {
+    }
+
+    /**
+     * Snapshot inmutable de las categorías. Se construye con la primera lectura
+     * y se descarta después del commit de cualquier escritura que lo afecte;
+     * la lectura siguiente lo reconstruye y lo publica de forma atómica.
+     * La versión evita publicar un snapshot armado con datos anteriores a una
+     * invalidación concurrente.
+     */
+    private final AtomicReference<SnapshotCategorias> snapshot = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+
+    // Reconstrucción en curso: las lecturas que llegan mientras tanto esperan
+    // ese mismo resultado en lugar de consultar y serializar cada una
+    private final AtomicReference<CompletableFuture<SnapshotCategorias>> reconstruccion = new AtomicReference<>();
+
+    private TransactionTemplate lectura;
+
+    @PostConstruct
+    void inicializar() {
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    /**
+     * GET /api/categorias: listado completo en JSON, servido desde el snapshot.
+     * No abre transacción si el snapshot ya existe.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public JsonConEtag obtenerListadoJson() {
+        return snapshotActual().listado();
+    }
+
+    /**
+     * GET /api/categorias/{id}: detalle en JSON, servido desde el snapshot.
+     * 
+     * @throws CategoriaNotFoundException si la categoría no existe
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public JsonConEtag obtenerCategoriaJson(Long id) {
+        JsonConEtag categoria = snapshotActual().porId().get(id);
+        if (categoria == null) {
+            throw new CategoriaNotFoundException(id);
+        }
+        return categoria;
+    }
+
+    /**
+     * Descarta el snapshot de categorías cuando la transacción actual se
+     * confirma. Lo llaman también las escrituras de productos, porque cambian
+     * la cantidad de productos de cada categoría.
+     */
+    public void invalidarSnapshot() {
+        TransaccionUtils.despuesDelCommit(() -> {
+            version.incrementAndGet();
+            snapshot.set(null);
+        });
+    }
+
+    /**
+     * Igual que invalidarSnapshot, para escrituras de productos que cambian la
+     * cantidad de productos de algunas categorías: esas cantidades se cuentan
+     * en la transacción actual (con la escritura ya incluida) y, después del
+     * commit, pasan a ser la popularidad de cada categoría en el autocompletado.
+     * 
+     * @param categoriaIds Categorías cuyo conteo pudo cambiar
+     */
+    public void invalidarSnapshot(Collection<Long> categoriaIds) {
+        Map<Long, Long> productosPorCategoria = new HashMap<>();
+        for (Object[] fila : categoriaRepository.contarProductosPorCategorias(categoriaIds)) {
+            productosPorCategoria.put((Long) fila[0], ((Number) fila[1]).longValue());
+        }
+        TransaccionUtils.despuesDelCommit(() -> {
+            version.incrementAndGet();
+            snapshot.set(null);
+            autocompletadoIndex.actualizarPopularidadCategorias(productosPorCategoria);
+        });
+    }
+
+    // Obtener todas las categorías ordenadas alfabéticamente. Las cantidades de
+    // productos salen de un único COUNT agrupado
+    @Transactional(readOnly = true)
+    public List<CategoriaDTO> obtenerTodasLasCategorias() {
+        List<Categoria> categorias = categoriaRepository.findAllByOrderByNameAsc();
+        Map<Long, Long> productosPorCategoria = new HashMap<>();
+        for (Object[] fila : categoriaRepository.contarProductosPorCategoria()) {
+            productosPorCategoria.put((Long) fila[0], ((Number) fila[1]).longValue());
+        }
+        return categoriaMapper.toDTOList(categorias, productosPorCategoria);
+    }
+
+    // Crear nueva categoría
+    public CategoriaDTO crearCategoria(CategoriaCreateDTO dto) {
+        // Verificar que no existe una categoría con el mismo nombre
+        if (categoriaRepository.existsByName(dto.getName())) {
+            throw new CategoriaDuplicadaException(dto.getName(), false);
+        }
+
+        Categoria categoria = categoriaMapper.toEntity(dto);
+        Categoria categoriaGuardada = categoriaRepository.save(categoria);
+        indexarDespuesDelCommit(categoriaGuardada);
+        invalidarSnapshot();
+        return categoriaMapper.toDTO(categoriaGuardada, 0);
+    }
+
+    // Actualizar categoría. Los productos cacheados incluyen el nombre de sus
+    // categorías, así que se vacían las cachés de productos (operación poco
+    // frecuente)
+    @CacheEvict(cacheNames = { CacheConfig.CACHE_PRODUCTOS, CacheConfig.CACHE_PRODUCTOS_POR_CATEGORIA }, allEntries = true)
+    public CategoriaDTO actualizarCategoria(Long id, CategoriaUpdateDTO dto) {
+        Categoria categoria = categoriaRepository.findById(id)
+                .orElseThrow(() -> new CategoriaNotFoundException(id));
+
+        // Verificar que no existe otra categoría con el mismo nombre
+        if (!categoria.getName().equals(dto.getName()) &&
+                categoriaRepository.existsByName(dto.getName())) {
+            throw new CategoriaDuplicadaException(dto.getName(), true);
+        }
+
+        categoriaMapper.updateEntity(categoria, dto);
+        Categoria categoriaActualizada = categoriaRepository.save(categoria);
+        indexarDespuesDelCommit(categoriaActualizada);
+        invalidarSnapshot();
+        return categoriaMapper.toDTO(categoriaActualizada, categoriaRepository.contarProductos(id));
+    }
+
+    // Eliminar categoría (también vacía las cachés de productos)
+    @CacheEvict(cacheNames = { CacheConfig.CACHE_PRODUCTOS, CacheConfig.CACHE_PRODUCTOS_POR_CATEGORIA }, allEntries = true)
+    public void eliminarCategoria(Long id) {
+        if (!categoriaRepository.existsById(id)) {
+            throw new CategoriaNotFoundException(id);
+        }
+        categoriaRepository.deleteById(id);
+        TransaccionUtils.despuesDelCommit(() -> autocompletadoIndex.eliminarCategoria(id));
+        invalidarSnapshot();
+    }
+
+    private SnapshotCategorias snapshotActual() {
+        SnapshotCategorias actual = snapshot.get();
+        if (actual != null) {
+            return actual;
+        }
+
+        CompletableFuture<SnapshotCategorias> propia = new CompletableFuture<>();
+        CompletableFuture<SnapshotCategorias> enCurso = reconstruccion.compareAndExchange(null, propia);
+        if (enCurso != null) {
+            return esperar(enCurso);
+        }
+
+        try {
+            // Otra reconstrucción pudo terminar entre la lectura de arriba y el CAS
+            SnapshotCategorias nuevo = snapshot.get();
+            if (nuevo == null) {
+                long versionLeida = version.get();
+                nuevo = construirSnapshot();
+                if (snapshot.compareAndSet(null, nuevo) && version.get() != versionLeida) {
+                    // Hubo una invalidación mientras se armaba: puede tener datos viejos
+                    snapshot.compareAndSet(nuevo, null);
+                }
+            }
+            propia.complete(nuevo);
+            return nuevo;
+        } catch (RuntimeException e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            reconstruccion.compareAndSet(propia, null);
+        }
+    }
+
+    // Espera la reconstrucción de otra lectura; si falló, propaga su excepción
+    private static SnapshotCategorias esperar(CompletableFuture<SnapshotCategorias> enCurso) {
+        try {
+            return enCurso.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private SnapshotCategorias construirSnapshot() {
+        List<CategoriaDTO> categorias = lectura.execute(status -> obtenerTodasLasCategorias());
+        Map<Long, JsonConEtag> porId = new HashMap<>();
+        for (CategoriaDTO categoria : categorias) {
+            porId.put(categoria.getId(), serializar(categoria));
+        }
+        return new SnapshotCategorias(serializar(categorias), Map.copyOf(porId));
+    }
+
+    private JsonConEtag serializar(Object valor) {
+        try {
+            byte[] contenido = objectMapper.writeValueAsBytes(valor);
+            return new JsonConEtag(contenido, "\"" + DigestUtils.md5DigestAsHex(contenido) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el snapshot de categorías", e);
+        }
+    }
+
+    // Actualiza el autocompletado una vez confirmada la escritura
+    private void indexarDespuesDelCommit(Categoria categoria) {
+        Long id = categoria.getId();
+        String nombre = categoria.getName();
+        TransaccionUtils.despuesDelCommit(() -> autocompletadoIndex.indexarCategoria(id, nombre));
+    }
 }
\ No newline at end of file
@@ -1,94 +1,259 @@
-package com.api.e_commerce.service;
-
-import java.util.List;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import com.api.e_commerce.dto.pedido.ItemCarritoDTO;
-import com.api.e_commerce.dto.pedido.PedidoMapper;
-import com.api.e_commerce.dto.pedido.PedidoResponseDTO;
-import com.api.e_commerce.exception.ProductoNotFoundException;
-import com.api.e_commerce.exception.StockInsuficienteException;
-import com.api.e_commerce.model.Pedido;
-import com.api.e_commerce.model.PedidoDetalle;
-import com.api.e_commerce.model.Producto;
-import com.api.e_commerce.model.Usuario;
-import com.api.e_commerce.repository.PedidoRepository;
-import com.api.e_commerce.repository.ProductoRepository;
-import com.api.e_commerce.repository.UsuarioRepository;
-
-@Service
-@Transactional
-public class PedidoService {
-
-    @Autowired
-    private PedidoRepository pedidoRepository;
-
-    @Autowired
-    private ProductoRepository productoRepository;
-
-    @Autowired
-    private UsuarioRepository usuarioRepository;
-
-    @Autowired
-    private ProductoService productoService;
-
-    /**
-     * Realiza el checkout del carrito de compras.
-     * Valida el stock, crea el pedido y descuenta el inventario.
-     * 
-     * @param email        Email del usuario que realiza la compra
-     * @param itemsCarrito Lista de items a comprar
-     * @return El pedido creado como DTO
-     * @throws RuntimeException           si el usuario no existe
-     * @throws ProductoNotFoundException  si algún producto no existe
-     * @throws StockInsuficienteException si no hay stock suficiente
-     */
-    public PedidoResponseDTO realizarCheckout(String email, List<ItemCarritoDTO> itemsCarrito) {
-        // Verificar que el usuario existe
-        Usuario usuario = usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
-
-        // Crear el pedido
-        Pedido pedido = new Pedido();
-        pedido.setUsuario(usuario);
-
-        // Validar stock y crear detalles
-        for (ItemCarritoDTO item : itemsCarrito) {
-            // Verificar que hay stock suficiente
-            if (!productoService.tieneStock(item.getProductoId(), item.getCantidad())) {
-                Producto producto = productoRepository.findById(item.getProductoId())
-                        .orElseThrow(() -> new ProductoNotFoundException(item.getProductoId()));
-                throw new StockInsuficienteException(producto.getName(), producto.getStock(), item.getCantidad());
-            }
-
-            // Obtener el producto
-            Producto producto = productoRepository.findById(item.getProductoId())
-                    .orElseThrow(() -> new ProductoNotFoundException(item.getProductoId()));
-
-            // Crear detalle del pedido
-            PedidoDetalle detalle = new PedidoDetalle(producto, item.getCantidad());
-            detalle.setPedido(pedido);
-            pedido.getDetalles().add(detalle);
-        }
-
-        // Guardar el pedido (esto calculará automáticamente el monto total)
-        Pedido pedidoGuardado = pedidoRepository.save(pedido);
-
-        // Descontar stock de todos los productos
-        for (ItemCarritoDTO item : itemsCarrito) {
-            productoService.descontarStock(item.getProductoId(), item.getCantidad());
-        }
-
-        return PedidoMapper.toResponseDTO(pedidoGuardado);
-    }
-
-    // Obtener pedido por ID
-    public PedidoResponseDTO obtenerPedidoPorId(Long id) {
-        Pedido pedido = pedidoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Pedido no encontrado con id: " + id));
-        return PedidoMapper.toResponseDTO(pedido);
-    }
-}
\ No newline at end of file
+package com.api.e_commerce.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.e_commerce.dto.pagina.CursorPaginaDTO;
+import com.api.e_commerce.dto.pedido.ItemCarritoDTO;
+import com.api.e_commerce.dto.pedido.PedidoCursor;
+import com.api.e_commerce.dto.pedido.PedidoMapper;
+import com.api.e_commerce.dto.pedido.PedidoResponseDTO;
+import com.api.e_commerce.exception.ProductoNotFoundException;
+import com.api.e_commerce.exception.StockInsuficienteException;
+import com.api.e_commerce.model.Pedido;
+import com.api.e_commerce.model.PedidoDetalle;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.repository.PedidoRepository;
+import com.api.e_commerce.repository.ProductoRepository;
+import com.api.e_commerce.repository.UsuarioRepository;
+import com.api.e_commerce.search.AutocompletadoIndex;
+import com.api.e_commerce.stock.MotorReservasStock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+@Service
+@Transactional
+public class PedidoService {
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private AutocompletadoIndex autocompletadoIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Solo con stock.reservas.habilitado=true
+    @Autowired(required = false)
+    private MotorReservasStock motorReservasStock;
+
+    // Duración de cada etapa del checkout (métrica pedidos.checkout.etapa)
+    private Timer timerCarga;
+    private Timer timerValidacion;
+    private Timer timerPersistencia;
+    private Timer timerDescuento;
+
+    @PostConstruct
+    void registrarMetricas() {
+        timerCarga = timerEtapa("carga");
+        timerValidacion = timerEtapa("validacion");
+        timerPersistencia = timerEtapa("persistencia");
+        timerDescuento = timerEtapa("descuento");
+    }
+
+    /**
+     * Realiza el checkout del carrito de compras.
+     * Valida el stock, crea el pedido y descuenta el inventario.
+     * 
+     * Todos los productos del carrito se cargan con un único findAllById y el
+     * stock se valida en memoria, así la cantidad de consultas no crece con el
+     * tamaño del carrito. Si un mismo producto aparece en varias líneas, las
+     * cantidades se suman antes de validar.
+     * 
+     * Con el motor de reservas (MotorReservasStock) el stock se reserva en
+     * memoria y el pedido se guarda sin tocar las filas de productos; el
+     * descuento en la base lo hace después la escritura en lote del motor.
+     * 
+     * @param email        Email del usuario que realiza la compra
+     * @param itemsCarrito Lista de items a comprar
+     * @return El pedido creado como DTO
+     * @throws RuntimeException           si el usuario no existe
+     * @throws ProductoNotFoundException  si algún producto no existe
+     * @throws StockInsuficienteException si no hay stock suficiente
+     */
+    public PedidoResponseDTO realizarCheckout(String email, List<ItemCarritoDTO> itemsCarrito) {
+        Timer.Sample etapa = Timer.start(meterRegistry);
+
+        // Verificar que el usuario existe
+        Usuario usuario = usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
+
+        // Sumar las cantidades por producto (un producto puede repetirse en el carrito)
+        Map<Long, Integer> cantidadesPorProducto = new LinkedHashMap<>();
+        for (ItemCarritoDTO item : itemsCarrito) {
+            cantidadesPorProducto.merge(item.getProductoId(), item.getCantidad(), Integer::sum);
+        }
+
+        // Cargar todos los productos del carrito en una sola consulta
+        Map<Long, Producto> productos = new HashMap<>();
+        for (Producto producto : productoRepository.findAllById(cantidadesPorProducto.keySet())) {
+            productos.put(producto.getId(), producto);
+        }
+        etapa = siguienteEtapa(etapa, timerCarga);
+
+        // Validar existencia y stock en memoria (un producto archivado ya no se
+        // vende)
+        for (Map.Entry<Long, Integer> entrada : cantidadesPorProducto.entrySet()) {
+            Producto producto = productos.get(entrada.getKey());
+            if (producto == null || !producto.isActivo()) {
+                throw new ProductoNotFoundException(entrada.getKey());
+            }
+            if (producto.getStock() < entrada.getValue()) {
+                throw new StockInsuficienteException(producto.getName(), producto.getStock(), entrada.getValue());
+            }
+        }
+
+        // Con el motor de reservas la validación anterior usa un stock de la base
+        // que puede estar atrasado: la reserva en memoria es la que decide. Si el
+        // pedido no llega a confirmarse, las unidades se devuelven
+        if (motorReservasStock != null) {
+            motorReservasStock.reservar(cantidadesPorProducto, productos);
+        }
+
+        etapa = siguienteEtapa(etapa, timerValidacion);
+
+        // Crear el pedido
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(usuario);
+        pedido.setStockAplicado(motorReservasStock == null);
+
+        // Crear detalles
+        for (ItemCarritoDTO item : itemsCarrito) {
+            PedidoDetalle detalle = new PedidoDetalle(productos.get(item.getProductoId()), item.getCantidad());
+            detalle.setPedido(pedido);
+            pedido.getDetalles().add(detalle);
+        }
+
+        // Guardar el pedido (esto calculará automáticamente el monto total). El
+        // flush envía aquí los INSERT en lote para que la etapa mida la escritura
+        // real y no quede escondida en el commit
+        Pedido pedidoGuardado = pedidoRepository.saveAndFlush(pedido);
+        etapa = siguienteEtapa(etapa, timerPersistencia);
+
+        // Descontar stock con un UPDATE condicional por producto. La validación
+        // en memoria de arriba es solo un rechazo temprano: si otro checkout
+        // consumió el stock mientras tanto, el UPDATE no afecta filas, se lanza
+        // StockInsuficienteException y la transacción revierte el pedido.
+        // Se hace al final (los bloqueos de fila duran solo hasta el commit y no
+        // abarcan los INSERT del pedido) y en orden de ID, para que dos carritos
+        // que comparten productos tomen los bloqueos en el mismo orden y no se
+        // produzcan deadlocks
+        if (motorReservasStock == null) {
+            for (Map.Entry<Long, Integer> entrada : new TreeMap<>(cantidadesPorProducto).entrySet()) {
+                productoService.descontarStock(entrada.getKey(), entrada.getValue());
+            }
+        }
+        etapa.stop(timerDescuento);
+
+        // Las unidades vendidas suben la popularidad en el autocompletado
+        TransaccionUtils.despuesDelCommit(() -> autocompletadoIndex.registrarVentas(cantidadesPorProducto));
+
+        return PedidoMapper.toResponseDTO(pedidoGuardado);
+    }
+
+    // Cierra la medición de una etapa y empieza la de la siguiente
+    private Timer.Sample siguienteEtapa(Timer.Sample etapa, Timer timer) {
+        etapa.stop(timer);
+        return Timer.start(meterRegistry);
+    }
+
+    private Timer timerEtapa(String etapa) {
+        return Timer.builder("pedidos.checkout.etapa")
+                .description("Duración de cada etapa del checkout")
+                .tag("etapa", etapa)
+                .register(meterRegistry);
+    }
+
+    // Obtener pedido por ID
+    @Transactional(readOnly = true)
+    public PedidoResponseDTO obtenerPedidoPorId(Long id) {
+        Pedido pedido = pedidoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Pedido no encontrado con id: " + id));
+        return PedidoMapper.toResponseDTO(pedido);
+    }
+
+    /**
+     * Obtener el historial de pedidos del usuario, del más reciente al más
+     * antiguo, con paginación keyset sobre (fechaPedido, id).
+     * 
+     * Se resuelve con dos consultas sin importar el tamaño de la página: una
+     * que lee solo los IDs de la página usando el índice (usuario_id,
+     * fecha_pedido) y otra que trae esos pedidos con sus detalles y productos
+     * mediante JOIN FETCH.
+     * 
+     * @param email   Email del usuario autenticado
+     * @param cursor  Token devuelto por la página anterior, o null para la primera
+     * @param tamanio Cantidad de pedidos por página
+     * @return Página de pedidos con el cursor de la siguiente, si la hay
+     * @throws IllegalArgumentException si el cursor o el tamaño no son válidos
+     */
+    @Transactional(readOnly = true)
+    public CursorPaginaDTO<PedidoResponseDTO> obtenerMisPedidos(String email, String cursor, int tamanio) {
+        if (tamanio < 1 || tamanio > ProductoService.TAMANIO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException(
+                    "El tamaño de página debe estar entre 1 y " + ProductoService.TAMANIO_MAXIMO_PAGINA);
+        }
+
+        // El usuario queda en el contexto de persistencia, así que la relación
+        // EAGER de cada pedido se resuelve sin consultas extra
+        Usuario usuario = usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
+
+        // Se pide un elemento de más para saber si hay página siguiente
+        Limit limite = Limit.of(tamanio + 1);
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = pedidoRepository.buscarPrimerosIdsPorUsuario(usuario.getId(), limite);
+        } else {
+            PedidoCursor anterior = PedidoCursor.decodificar(cursor);
+            ids = pedidoRepository.buscarSiguientesIdsPorUsuario(
+                    usuario.getId(), anterior.fechaPedido(), anterior.id(), limite);
+        }
+
+        boolean haySiguiente = ids.size() > tamanio;
+        if (haySiguiente) {
+            ids = ids.subList(0, tamanio);
+        }
+        if (ids.isEmpty()) {
+            return new CursorPaginaDTO<>(List.of(), tamanio, null);
+        }
+
+        // La consulta por IDs no garantiza orden: se respeta el de la página
+        Map<Long, Pedido> pedidosPorId = new HashMap<>();
+        for (Pedido pedido : pedidoRepository.buscarConDetallesPorIds(ids)) {
+            pedidosPorId.put(pedido.getId(), pedido);
+        }
+        List<Pedido> pedidos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            pedidos.add(pedidosPorId.get(id));
+        }
+
+        String siguienteCursor = haySiguiente
+                ? PedidoCursor.despuesDe(pedidos.get(pedidos.size() - 1)).codificar()
+                : null;
+
+        return new CursorPaginaDTO<>(PedidoMapper.toResponseDTOList(pedidos), tamanio, siguienteCursor);
+    }
+}
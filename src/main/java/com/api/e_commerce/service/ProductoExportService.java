@@ -0,0 +1,208 @@
+package com.api.e_commerce.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.e_commerce.dto.producto.ProductoDTO;
+import com.api.e_commerce.dto.producto.ProductoMapper;
+import com.api.e_commerce.exception.ServicioSaturadoException;
+import com.api.e_commerce.model.Producto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Exportación del catálogo activo como un arreglo JSON o como NDJSON (un
+ * producto por línea).
+ * 
+ * Los productos se leen con un Stream de JPA, se mapean a ProductoDTO y se
+ * escriben con un JsonGenerator directamente sobre la respuesta. Cada
+ * LOTE_EXPORTACION productos se envían al cliente y se quitan del contexto de
+ * persistencia, así la memoria usada no depende del tamaño del catálogo.
+ * 
+ * El streaming se configura solo en esta consulta, no en la URL de conexión:
+ * en MySQL el fetch size Integer.MIN_VALUE hace que Connector/J entregue las
+ * filas a medida que llegan en lugar de cargar el resultado completo; en los
+ * demás motores se usa un fetch size de LOTE_EXPORTACION. Mientras MySQL
+ * transmite el resultado la conexión no admite otras consultas, por eso el
+ * usuario y las categorías se traen en el mismo SELECT.
+ * 
+ * Cada exportación ocupa una conexión (y un permiso de admisión, si está
+ * activo) durante toda la descarga. Para que unas pocas descargas lentas no
+ * dejen sin conexiones al catálogo y al checkout, a lo sumo
+ * maximoConcurrentes corren a la vez: las demás se rechazan de inmediato con
+ * ServicioSaturadoException (503) antes de empezar a responder.
+ */
+@Service
+public class ProductoExportService {
+
+    // Productos mapeados y escritos antes de vaciar el contexto de persistencia
+    public static final int LOTE_EXPORTACION = 500;
+
+    // Catálogo activo en orden de ID, con usuario y categorías en la misma
+    // consulta (una fila por producto y categoría)
+    private static final String CONSULTA_CATALOGO = "SELECT p FROM Producto p JOIN FETCH p.usuario "
+            + "LEFT JOIN FETCH p.categorias WHERE p.activo = true ORDER BY p.id ASC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductoMapper productoMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Exportaciones que pueden correr a la vez
+    @Value("${productos.exportacion.maximo-concurrentes:2}")
+    private int maximoConcurrentes;
+
+    private TransactionTemplate lectura;
+
+    private int tamanioFetch;
+
+    private Semaphore exportacionesEnCurso;
+
+    @PostConstruct
+    void inicializar() {
+        exportacionesEnCurso = new Semaphore(maximoConcurrentes);
+
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        tamanioFetch = dialect instanceof MySQLDialect ? Integer.MIN_VALUE : LOTE_EXPORTACION;
+    }
+
+    /**
+     * Reserva un lugar para una exportación. Debe llamarse antes de responder
+     * al cliente, y cada reserva exitosa debe liberarse con liberarExportacion
+     * al terminar la escritura (también si falla).
+     * 
+     * @throws ServicioSaturadoException si ya hay maximoConcurrentes
+     *                                   exportaciones en curso
+     */
+    public void reservarExportacion() {
+        if (!exportacionesEnCurso.tryAcquire()) {
+            throw new ServicioSaturadoException("Hay demasiadas exportaciones en curso, intente nuevamente");
+        }
+    }
+
+    public void liberarExportacion() {
+        exportacionesEnCurso.release();
+    }
+
+    /**
+     * Escribe el catálogo como un único arreglo JSON
+     * 
+     * @param salida Stream de la respuesta (no se cierra)
+     * @return Cantidad de productos exportados
+     */
+    public long exportarJson(OutputStream salida) throws IOException {
+        try (JsonGenerator generador = crearGenerador(salida)) {
+            generador.writeStartArray();
+            long exportados = exportar(generador, false);
+            generador.writeEndArray();
+            return exportados;
+        }
+    }
+
+    /**
+     * Escribe el catálogo como NDJSON: un objeto JSON por línea, que el
+     * consumidor puede procesar a medida que llega
+     * 
+     * @param salida Stream de la respuesta (no se cierra)
+     * @return Cantidad de productos exportados
+     */
+    public long exportarNdjson(OutputStream salida) throws IOException {
+        try (JsonGenerator generador = crearGenerador(salida)) {
+            // Sin el espacio que Jackson escribe por defecto entre valores raíz
+            generador.setRootValueSeparator(null);
+            return exportar(generador, true);
+        }
+    }
+
+    private JsonGenerator crearGenerador(OutputStream salida) throws IOException {
+        JsonGenerator generador = objectMapper.getFactory().createGenerator(salida, JsonEncoding.UTF8);
+        // El stream pertenece al contenedor: cerrar el generador solo lo vacía.
+        // Si la exportación falla a mitad de camino no se cierra el arreglo, así
+        // el cliente recibe un JSON inválido en lugar de uno truncado pero válido
+        generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generador.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        return generador;
+    }
+
+    private long exportar(JsonGenerator generador, boolean porLinea) throws IOException {
+        try {
+            Long exportados = lectura.execute(status -> {
+                long cantidad = 0;
+                List<Producto> lote = new ArrayList<>(LOTE_EXPORTACION);
+                try (Stream<Producto> productos = recorrerCatalogo()) {
+                    Iterator<Producto> iterador = productos.iterator();
+                    while (iterador.hasNext()) {
+                        lote.add(iterador.next());
+                        if (lote.size() == LOTE_EXPORTACION || !iterador.hasNext()) {
+                            escribirLote(generador, lote, porLinea);
+                            cantidad += lote.size();
+                            // Los productos ya escritos no se vuelven a leer. Se
+                            // desprenden uno por uno: el Stream puede tener ya
+                            // leída la primera fila del producto siguiente
+                            lote.forEach(entityManager::detach);
+                            lote.clear();
+                        }
+                    }
+                }
+                return cantidad;
+            });
+            return exportados != null ? exportados : 0;
+        } catch (UncheckedIOException e) {
+            // El cliente cortó la conexión o falló la escritura
+            throw e.getCause();
+        }
+    }
+
+    private Stream<Producto> recorrerCatalogo() {
+        return entityManager.createQuery(CONSULTA_CATALOGO, Producto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanioFetch)
+                .getResultStream();
+    }
+
+    private void escribirLote(JsonGenerator generador, List<Producto> lote, boolean porLinea) {
+        try {
+            for (ProductoDTO dto : productoMapper.toDTOList(lote)) {
+                generador.writeObject(dto);
+                if (porLinea) {
+                    generador.writeRaw('\n');
+                }
+            }
+            // Enviar el lote al cliente en lugar de acumularlo en el buffer
+            generador.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
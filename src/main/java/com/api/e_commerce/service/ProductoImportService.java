@@ -0,0 +1,325 @@
+package com.api.e_commerce.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.e_commerce.config.CacheConfig;
+import com.api.e_commerce.dto.importacion.ErrorImportacionDTO;
+import com.api.e_commerce.dto.importacion.ResultadoImportacionDTO;
+import com.api.e_commerce.dto.producto.ProductoCreateDTO;
+import com.api.e_commerce.dto.producto.ProductoMapper;
+import com.api.e_commerce.importacion.LectorCsv;
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.repository.CategoriaRepository;
+import com.api.e_commerce.repository.UsuarioRepository;
+import com.api.e_commerce.search.AutocompletadoIndex;
+import com.api.e_commerce.search.ProductoSearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importación masiva de productos desde CSV o NDJSON.
+ * 
+ * El archivo se lee por streaming, fila por fila, y los productos válidos se
+ * guardan en lotes de productos.importacion.tamanio-lote filas, cada lote en su
+ * propia transacción. Como los IDs salen de id_generadores (no de IDENTITY),
+ * Hibernate envía los INSERT de cada lote con JDBC batch
+ * (hibernate.jdbc.batch_size). Las categorías se validan contra un
+ * conjunto de IDs cargado una sola vez y el usuario se busca una vez por
+ * importación. Las filas inválidas (o los lotes que fallan al guardarse) se
+ * informan en el resultado sin cortar la importación.
+ * 
+ * Formato CSV: la primera línea es la cabecera con las columnas name, price,
+ * stock, image (obligatorias), description y categorias (IDs separados por |).
+ * Formato NDJSON: un objeto JSON por línea con los mismos campos que
+ * ProductoCreateDTO.
+ */
+@Service
+public class ProductoImportService {
+
+    // Cantidad máxima de errores detallados en la respuesta
+    public static final int MAXIMO_ERRORES_REPORTADOS = 1000;
+
+    private static final Set<String> COLUMNAS_OBLIGATORIAS = Set.of("name", "price", "stock", "image");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProductoMapper productoMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProductoSearchIndex productoSearchIndex;
+
+    @Autowired
+    private AutocompletadoIndex autocompletadoIndex;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${productos.importacion.tamanio-lote:1000}")
+    private int tamanioLote;
+
+    // Importar productos desde un CSV con cabecera
+    public ResultadoImportacionDTO importarCsv(InputStream entrada, Charset charset, String email) throws IOException {
+        LectorCsv lector = new LectorCsv(new BufferedReader(new InputStreamReader(entrada, charset)));
+
+        List<String> cabecera = lector.leerRegistro();
+        if (cabecera == null) {
+            throw new IllegalArgumentException("El archivo CSV está vacío");
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            // Quitar el BOM que agregan algunas planillas al inicio del archivo
+            String nombre = cabecera.get(i).replace("\uFEFF", "").trim();
+            columnas.put(nombre, i);
+        }
+        for (String obligatoria : COLUMNAS_OBLIGATORIAS) {
+            if (!columnas.containsKey(obligatoria)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria: " + obligatoria);
+            }
+        }
+
+        return importar(() -> {
+            List<String> campos;
+            do {
+                campos = lector.leerRegistro();
+            } while (campos != null && campos.size() == 1 && campos.get(0).isBlank());
+            return campos == null ? null : filaCsv(lector.getLineaRegistro(), campos, columnas);
+        }, email);
+    }
+
+    // Importar productos desde NDJSON (un objeto JSON por línea)
+    public ResultadoImportacionDTO importarNdjson(InputStream entrada, Charset charset, String email) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, charset));
+        ObjectReader lectorJson = objectMapper.readerFor(ProductoCreateDTO.class);
+        long[] linea = { 0 };
+
+        return importar(() -> {
+            String texto;
+            do {
+                texto = reader.readLine();
+                linea[0]++;
+            } while (texto != null && texto.isBlank());
+            if (texto == null) {
+                return null;
+            }
+            try {
+                return new FilaLeida(linea[0], lectorJson.readValue(texto), null);
+            } catch (JsonProcessingException e) {
+                return new FilaLeida(linea[0], null, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }, email);
+    }
+
+    private ResultadoImportacionDTO importar(LectorFilas lector, String email) throws IOException {
+        Long usuarioId = usuarioRepository.findByEmail(email)
+                .map(Usuario::getId)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
+        Set<Long> categoriasExistentes = categoriaRepository.listarIds();
+
+        ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+        List<FilaLeida> lote = new ArrayList<>(tamanioLote);
+
+        FilaLeida fila;
+        while ((fila = lector.siguiente()) != null) {
+            resultado.setFilasProcesadas(resultado.getFilasProcesadas() + 1);
+
+            String error = fila.error() != null ? fila.error() : validar(fila.producto(), categoriasExistentes);
+            if (error != null) {
+                registrarError(resultado, fila.numero(), error);
+                continue;
+            }
+
+            lote.add(fila);
+            if (lote.size() >= tamanioLote) {
+                guardarLote(lote, usuarioId, resultado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            guardarLote(lote, usuarioId, resultado);
+        }
+
+        return resultado;
+    }
+
+    private void guardarLote(List<FilaLeida> lote, Long usuarioId, ResultadoImportacionDTO resultado) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertarLote(lote, usuarioId));
+            resultado.setProductosImportados(resultado.getProductosImportados() + lote.size());
+        } catch (DataAccessException e) {
+            // El lote se revierte completo: se informan todas sus filas
+            String mensaje = "Error al guardar el lote: " + e.getMostSpecificCause().getMessage();
+            for (FilaLeida fila : lote) {
+                registrarError(resultado, fila.numero(), mensaje);
+            }
+        }
+    }
+
+    private void insertarLote(List<FilaLeida> lote, Long usuarioId) {
+        Usuario usuario = entityManager.getReference(Usuario.class, usuarioId);
+
+        // Las categorías del lote se cargan con una sola consulta
+        Set<Long> categoriasAfectadas = new HashSet<>();
+        for (FilaLeida fila : lote) {
+            if (fila.producto().getCategoriasIds() != null) {
+                categoriasAfectadas.addAll(fila.producto().getCategoriasIds());
+            }
+        }
+        Map<Long, Categoria> categorias = new HashMap<>();
+        categoriaRepository.findAllById(categoriasAfectadas).forEach(c -> categorias.put(c.getId(), c));
+
+        List<Producto> productos = new ArrayList<>(lote.size());
+        for (FilaLeida fila : lote) {
+            Producto producto = productoMapper.toEntity(fila.producto());
+            producto.setUsuario(usuario);
+            if (fila.producto().getCategoriasIds() != null) {
+                for (Long categoriaId : fila.producto().getCategoriasIds()) {
+                    // Puede faltar si la categoría se eliminó durante la importación
+                    Categoria categoria = categorias.get(categoriaId);
+                    if (categoria != null) {
+                        producto.getCategorias().add(categoria);
+                    }
+                }
+            }
+            entityManager.persist(producto);
+            productos.add(producto);
+        }
+
+        // Los productos nuevos aparecen en los listados de sus categorías
+        Cache productosPorCategoria = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS_POR_CATEGORIA);
+        if (productosPorCategoria != null) {
+            categoriasAfectadas.forEach(productosPorCategoria::evict);
+        }
+        if (!categoriasAfectadas.isEmpty()) {
+            categoriaService.invalidarSnapshot(categoriasAfectadas);
+        }
+
+        TransaccionUtils.despuesDelCommit(() -> {
+            for (Producto producto : productos) {
+                productoSearchIndex.indexar(producto.getId(), producto.getName(), producto.getDescription());
+                autocompletadoIndex.indexarProducto(producto.getId(), producto.getName());
+            }
+        });
+    }
+
+    // Devuelve el mensaje de error de la fila, o null si es válida
+    private String validar(ProductoCreateDTO producto, Set<Long> categoriasExistentes) {
+        Set<ConstraintViolation<ProductoCreateDTO>> violaciones = validator.validate(producto);
+        if (!violaciones.isEmpty()) {
+            return violaciones.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (producto.getCategoriasIds() != null) {
+            for (Long categoriaId : producto.getCategoriasIds()) {
+                if (!categoriasExistentes.contains(categoriaId)) {
+                    return "Categoría no encontrada con ID: " + categoriaId;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void registrarError(ResultadoImportacionDTO resultado, long fila, String mensaje) {
+        resultado.setFilasConError(resultado.getFilasConError() + 1);
+        if (resultado.getErrores().size() < MAXIMO_ERRORES_REPORTADOS) {
+            resultado.getErrores().add(new ErrorImportacionDTO(fila, mensaje));
+        }
+    }
+
+    private FilaLeida filaCsv(long numero, List<String> campos, Map<String, Integer> columnas) {
+        try {
+            ProductoCreateDTO producto = new ProductoCreateDTO();
+            producto.setName(valor(campos, columnas, "name"));
+            producto.setDescription(valor(campos, columnas, "description"));
+            String precio = valor(campos, columnas, "price");
+            producto.setPrice(precio == null ? null : new BigDecimal(precio));
+            String stock = valor(campos, columnas, "stock");
+            producto.setStock(stock == null ? null : Integer.valueOf(stock));
+            producto.setImage(valor(campos, columnas, "image"));
+
+            String categorias = valor(campos, columnas, "categorias");
+            if (categorias != null) {
+                Set<Long> categoriasIds = new LinkedHashSet<>();
+                for (String categoriaId : categorias.split("\\|")) {
+                    if (!categoriaId.isBlank()) {
+                        categoriasIds.add(Long.valueOf(categoriaId.trim()));
+                    }
+                }
+                producto.setCategoriasIds(categoriasIds);
+            }
+            return new FilaLeida(numero, producto, null);
+        } catch (NumberFormatException e) {
+            return new FilaLeida(numero, null, "Valor numérico inválido en price, stock o categorias");
+        }
+    }
+
+    // Valor de la columna sin espacios alrededor (null si falta o está vacío)
+    private String valor(List<String> campos, Map<String, Integer> columnas, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Fila leída del archivo: producto o mensaje de error de parseo
+    private record FilaLeida(long numero, ProductoCreateDTO producto, String error) {
+    }
+
+    @FunctionalInterface
+    private interface LectorFilas {
+        // Devuelve la siguiente fila, o null al final del archivo
+        FilaLeida siguiente() throws IOException;
+    }
+}
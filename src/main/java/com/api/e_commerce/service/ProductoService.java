@@ -1,167 +1,547 @@
-package com.api.e_commerce.service;
-
-import java.util.List;
-import java.util.Set;
-import java.util.HashSet;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import com.api.e_commerce.model.Producto;
-import com.api.e_commerce.model.Categoria;
-import com.api.e_commerce.model.Usuario;
-import com.api.e_commerce.repository.ProductoRepository;
-import com.api.e_commerce.repository.CategoriaRepository;
-import com.api.e_commerce.repository.PedidoDetalleRepository;
-import com.api.e_commerce.exception.ProductoEnPedidosException;
-import com.api.e_commerce.exception.ProductoNotFoundException;
-import com.api.e_commerce.exception.StockInsuficienteException;
-import com.api.e_commerce.exception.CategoriaNotFoundException;
-import com.api.e_commerce.model.PedidoDetalle;
-import com.api.e_commerce.repository.UsuarioRepository;
-import com.api.e_commerce.dto.producto.ProductoCreateDTO;
-import com.api.e_commerce.dto.producto.ProductoDTO;
-import com.api.e_commerce.dto.producto.ProductoMapper;
-import com.api.e_commerce.dto.producto.ProductoUpdateDTO;
-
-@Service
-@Transactional
-public class ProductoService {
-
-    @Autowired
-    private ProductoRepository productoRepository;
-
-    @Autowired
-    private CategoriaRepository categoriaRepository;
-
-    @Autowired
-    private PedidoDetalleRepository pedidoDetalleRepository;
-
-    @Autowired
-    private UsuarioRepository usuarioRepository;
-
-    @Autowired
-    private ProductoMapper productoMapper;
-
-    // Obtener todos los productos ordenados alfabéticamente (para home)
-    public List<ProductoDTO> obtenerTodosLosProductos() {
-        List<Producto> productos = productoRepository.findAllByOrderByNameAsc();
-        return productoMapper.toDTOList(productos);
-    }
-
-    // Obtener producto por ID (para detalle)
-    public ProductoDTO obtenerProductoPorId(Long id) {
-        Producto producto = productoRepository.findById(id)
-                .orElseThrow(() -> new ProductoNotFoundException(id));
-        return productoMapper.toDTO(producto);
-    }
-
-    // Obtener productos por categoría ordenados alfabéticamente
-    public List<ProductoDTO> obtenerProductosPorCategoria(Long categoriaId) {
-        List<Producto> productos = productoRepository.findByCategoriasIdOrderByNameAsc(categoriaId);
-        return productoMapper.toDTOList(productos);
-    }
-
-    // Buscar productos por nombre
-    public List<ProductoDTO> buscarProductosPorNombre(String nombre) {
-        List<Producto> productos = productoRepository.findByNameContainingIgnoreCase(nombre);
-        return productoMapper.toDTOList(productos);
-    }
-
-    /**
-     * Crear nuevo producto usando DTO
-     * 
-     * @param dto   Datos del producto a crear
-     * @param email Email del usuario autenticado (obtenido del JWT)
-     * @return El producto creado como DTO
-     */
-    public ProductoDTO crearProducto(ProductoCreateDTO dto, String email) {
-        // Buscar el usuario por email (obtenido del token JWT)
-        Usuario usuario = usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
-
-        // Convertir DTO a entidad
-        Producto producto = productoMapper.toEntity(dto);
-        producto.setUsuario(usuario);
-
-        // Si se proporcionaron IDs de categorías, validar y asignar
-        if (dto.getCategoriasIds() != null && !dto.getCategoriasIds().isEmpty()) {
-            Set<Categoria> categorias = new HashSet<>();
-            for (Long categoriaId : dto.getCategoriasIds()) {
-                Categoria categoria = categoriaRepository.findById(categoriaId)
-                        .orElseThrow(() -> new CategoriaNotFoundException(categoriaId));
-                categorias.add(categoria);
-            }
-            producto.setCategorias(categorias);
-
-            // Mantener la relación bidireccional
-            for (Categoria categoria : categorias) {
-                categoria.getProductos().add(producto);
-            }
-        }
-
-        Producto productoGuardado = productoRepository.save(producto);
-        return productoMapper.toDTO(productoGuardado);
-    }
-
-    // Actualizar producto usando DTO
-    public ProductoDTO actualizarProducto(Long id, ProductoUpdateDTO dto) {
-        Producto producto = productoRepository.findById(id)
-                .orElseThrow(() -> new ProductoNotFoundException(id));
-
-        // Actualizar campos usando el mapper
-        productoMapper.updateEntity(producto, dto);
-
-        // Actualizar categorías si se proporcionan
-        if (dto.getCategoriasIds() != null && !dto.getCategoriasIds().isEmpty()) {
-            Set<Categoria> categorias = new HashSet<>();
-            for (Long categoriaId : dto.getCategoriasIds()) {
-                Categoria categoria = categoriaRepository.findById(categoriaId)
-                        .orElseThrow(() -> new CategoriaNotFoundException(categoriaId));
-                categorias.add(categoria);
-            }
-            producto.setCategorias(categorias);
-        }
-
-        Producto productoActualizado = productoRepository.save(producto);
-        return productoMapper.toDTO(productoActualizado);
-    }
-
-    // Descontar stock (para cuando se realiza un checkout)
-    public void descontarStock(Long productoId, Integer cantidad) {
-        Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new ProductoNotFoundException(productoId));
-
-        if (producto.getStock() < cantidad) {
-            throw new StockInsuficienteException(producto.getName(), producto.getStock(), cantidad);
-        }
-
-        producto.setStock(producto.getStock() - cantidad);
-        productoRepository.save(producto);
-    }
-
-    // Verificar si hay stock disponible (para validaciones antes del checkout)
-    public boolean tieneStock(Long productoId, Integer cantidad) {
-        Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new ProductoNotFoundException(productoId));
-
-        return producto.getStock() >= cantidad;
-    }
-
-    // Eliminar producto (cualquier usuario autenticado puede hacerlo)
-    public void eliminarProducto(Long id) {
-        if (!productoRepository.existsById(id)) {
-            throw new ProductoNotFoundException(id);
-        }
-
-        // Antes de eliminar, comprobar si existen detalles de pedido que referencien
-        // este producto
-        List<PedidoDetalle> detalles = pedidoDetalleRepository.findByProductoId(id);
-        if (detalles != null && !detalles.isEmpty()) {
-            throw new ProductoEnPedidosException();
-        }
-
-        productoRepository.deleteById(id);
-    }
-}
+package com.api.e_commerce.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.e_commerce.config.CacheConfig;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.repository.ProductoRepository;
+import com.api.e_commerce.repository.CategoriaRepository;
+import com.api.e_commerce.repository.PedidoDetalleRepository;
+import com.api.e_commerce.exception.ProductoEnPedidosException;
+import com.api.e_commerce.exception.ProductoNotFoundException;
+import com.api.e_commerce.exception.StockInsuficienteException;
+import com.api.e_commerce.exception.CategoriaNotFoundException;
+import com.api.e_commerce.repository.UsuarioRepository;
+import com.api.e_commerce.dto.pagina.CursorPaginaDTO;
+import com.api.e_commerce.dto.pagina.PaginaDTO;
+import com.api.e_commerce.dto.producto.ProductoCreateDTO;
+import com.api.e_commerce.dto.producto.ProductoCursor;
+import com.api.e_commerce.dto.producto.ProductoDTO;
+import com.api.e_commerce.dto.producto.ProductoMapper;
+import com.api.e_commerce.dto.producto.ProductoResumenDTO;
+import com.api.e_commerce.dto.producto.ProductoUpdateDTO;
+import com.api.e_commerce.dto.busqueda.SugerenciaDTO;
+import com.api.e_commerce.search.AutocompletadoIndex;
+import com.api.e_commerce.search.ProductoSearchIndex;
+import com.api.e_commerce.stock.MotorReservasStock;
+
+@Service
+@Transactional
+public class ProductoService {
+
+    // Tamaño máximo de página aceptado en los listados paginados
+    public static final int TAMANIO_MAXIMO_PAGINA = 100;
+
+    // Cantidad máxima de resultados de la búsqueda por texto
+    public static final int LIMITE_RESULTADOS_BUSQUEDA = 100;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PedidoDetalleRepository pedidoDetalleRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ProductoMapper productoMapper;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductoSearchIndex productoSearchIndex;
+
+    @Autowired
+    private AutocompletadoIndex autocompletadoIndex;
+
+    // Solo con stock.reservas.habilitado=true
+    @Autowired(required = false)
+    private MotorReservasStock motorReservasStock;
+
+    // Obtener todos los productos ordenados alfabéticamente (para home)
+    @Transactional(readOnly = true)
+    public List<ProductoDTO> obtenerTodosLosProductos() {
+        List<Producto> productos = productoRepository.findByActivoTrueOrderByNameAsc();
+        return productoMapper.toDTOList(productos);
+    }
+
+    // Obtener producto por ID (para detalle). Se sirve desde la caché; las
+    // escrituras de este servicio invalidan la entrada del producto. Un
+    // producto archivado se informa como inexistente
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_PRODUCTOS, key = "#id")
+    public ProductoDTO obtenerProductoPorId(Long id) {
+        Producto producto = productoRepository.findByIdAndActivoTrue(id)
+                .orElseThrow(() -> new ProductoNotFoundException(id));
+        return productoMapper.toDTO(producto);
+    }
+
+    // Obtener productos por categoría ordenados alfabéticamente (cacheado por
+    // ID de categoría)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CACHE_PRODUCTOS_POR_CATEGORIA, key = "#categoriaId")
+    public List<ProductoDTO> obtenerProductosPorCategoria(Long categoriaId) {
+        List<Producto> productos = productoRepository.findByCategoriasIdAndActivoTrueOrderByNameAsc(categoriaId);
+        return productoMapper.toDTOList(productos);
+    }
+
+    /**
+     * Buscar productos por nombre o descripción.
+     * La búsqueda se resuelve en el índice invertido en memoria (sin recorrer la
+     * tabla) y los productos encontrados se toman de la caché; solo los que no
+     * están cacheados se leen de la base, en una única consulta.
+     * 
+     * @param nombre Texto a buscar (admite prefijos y es insensible a tildes)
+     * @return Los productos ordenados por relevancia (como máximo
+     *         LIMITE_RESULTADOS_BUSQUEDA)
+     */
+    @Transactional(readOnly = true)
+    public List<ProductoDTO> buscarProductosPorNombre(String nombre) {
+        List<Long> ids = productoSearchIndex.buscar(nombre, LIMITE_RESULTADOS_BUSQUEDA);
+        return obtenerProductosPorIds(ids);
+    }
+
+    /**
+     * Sugerencias de autocompletado para nombres de productos y categorías.
+     * Se resuelven en memoria, ordenadas por popularidad; no se abre
+     * transacción porque no se consulta la base.
+     * 
+     * @param prefijo Texto tipeado hasta el momento
+     * @param limite  Cantidad de sugerencias (entre 1 y
+     *                AutocompletadoIndex.MAXIMO_SUGERENCIAS)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<SugerenciaDTO> obtenerSugerencias(String prefijo, int limite) {
+        if (limite < 1 || limite > AutocompletadoIndex.MAXIMO_SUGERENCIAS) {
+            throw new IllegalArgumentException(
+                    "El límite de sugerencias debe estar entre 1 y " + AutocompletadoIndex.MAXIMO_SUGERENCIAS);
+        }
+        return autocompletadoIndex.sugerir(prefijo, limite);
+    }
+
+    // Devuelve los productos en el orden de los IDs recibidos, usando la caché
+    // de productos y leyendo los faltantes con un solo findAllById
+    private List<ProductoDTO> obtenerProductosPorIds(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS);
+        Map<Long, ProductoDTO> encontrados = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : ids) {
+            ProductoDTO dto = cache != null ? cache.get(id, ProductoDTO.class) : null;
+            if (dto != null) {
+                encontrados.put(id, dto);
+            } else {
+                faltantes.add(id);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            for (ProductoDTO dto : productoMapper.toDTOList(productoRepository.findAllById(faltantes))) {
+                encontrados.put(dto.getId(), dto);
+                if (cache != null) {
+                    cache.put(dto.getId(), dto);
+                }
+            }
+        }
+
+        return ids.stream()
+                .map(encontrados::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Obtener una página del catálogo ordenado alfabéticamente
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProductoDTO> obtenerProductosPaginados(int pagina, int tamanio) {
+        Page<Producto> productos = productoRepository.findByActivoTrueOrderByNameAscIdAsc(paginacion(pagina, tamanio));
+        return PaginaDTO.de(productos, productoMapper.toDTOList(productos.getContent()));
+    }
+
+    // Obtener una página de productos de una categoría
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProductoDTO> obtenerProductosPorCategoriaPaginados(Long categoriaId, int pagina, int tamanio) {
+        Page<Producto> productos = productoRepository.findByCategoriasIdAndActivoTrueOrderByNameAscIdAsc(
+                categoriaId, paginacion(pagina, tamanio));
+        return PaginaDTO.de(productos, productoMapper.toDTOList(productos.getContent()));
+    }
+
+    /**
+     * Buscar productos por nombre o descripción, paginado.
+     * Usa el mismo índice y el mismo orden por relevancia que
+     * buscarProductosPorNombre, pero sin el límite de resultados: las páginas
+     * recorren todas las coincidencias. El índice ordena solo los resultados
+     * hasta el final de la página pedida y cuenta el resto.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProductoDTO> buscarProductosPorNombrePaginados(String nombre, int pagina, int tamanio) {
+        Pageable paginacion = paginacion(pagina, tamanio);
+        int finDePagina = (int) Math.min(paginacion.getOffset() + paginacion.getPageSize(), Integer.MAX_VALUE);
+        ProductoSearchIndex.Resultado resultado = productoSearchIndex.buscarConTotal(nombre, finDePagina);
+        List<Long> ids = resultado.ids();
+
+        int desde = (int) Math.min(paginacion.getOffset(), ids.size());
+        List<ProductoDTO> contenido = obtenerProductosPorIds(ids.subList(desde, ids.size()));
+
+        return PaginaDTO.de(new PageImpl<>(contenido, paginacion, resultado.total()), contenido);
+    }
+
+    /**
+     * Obtener el catálogo paginado por cursor (keyset sobre name e id).
+     * Se pide un elemento de más para saber si existe una página siguiente sin
+     * hacer un COUNT.
+     * 
+     * @param cursor  Token devuelto en la página anterior (null para la primera)
+     * @param tamanio Cantidad de productos por página
+     * @return La página con el cursor de la siguiente (null si es la última)
+     */
+    @Transactional(readOnly = true)
+    public CursorPaginaDTO<ProductoDTO> obtenerProductosPorCursor(String cursor, int tamanio) {
+        int tamanioValido = validarTamanio(tamanio);
+        Limit limite = Limit.of(tamanioValido + 1);
+
+        List<Producto> productos;
+        if (cursor == null || cursor.isBlank()) {
+            productos = productoRepository.buscarPrimerosPorNombre(limite);
+        } else {
+            ProductoCursor anterior = ProductoCursor.decodificar(cursor);
+            productos = productoRepository.buscarSiguientesPorNombre(anterior.name(), anterior.id(), limite);
+        }
+
+        String siguienteCursor = null;
+        if (productos.size() > tamanioValido) {
+            productos = productos.subList(0, tamanioValido);
+            siguienteCursor = ProductoCursor.despuesDe(productos.get(tamanioValido - 1)).codificar();
+        }
+
+        return new CursorPaginaDTO<>(productoMapper.toDTOList(productos), tamanioValido, siguienteCursor);
+    }
+
+    /**
+     * Obtener una página del catálogo como resúmenes livianos.
+     * La consulta proyecta directamente a ProductoResumenDTO: no se crean
+     * entidades administradas, no se lee la descripción y, al ser de solo
+     * lectura, Hibernate no hace dirty checking ni flush.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProductoResumenDTO> obtenerResumenesPaginados(int pagina, int tamanio) {
+        Page<ProductoResumenDTO> resumenes = productoRepository.listarResumenes(paginacion(pagina, tamanio));
+        return PaginaDTO.de(resumenes, resumenes.getContent());
+    }
+
+    // Obtener resúmenes del catálogo paginados por cursor (keyset sobre name e id)
+    @Transactional(readOnly = true)
+    public CursorPaginaDTO<ProductoResumenDTO> obtenerResumenesPorCursor(String cursor, int tamanio) {
+        int tamanioValido = validarTamanio(tamanio);
+        Limit limite = Limit.of(tamanioValido + 1);
+
+        List<ProductoResumenDTO> resumenes;
+        if (cursor == null || cursor.isBlank()) {
+            resumenes = productoRepository.listarPrimerosResumenes(limite);
+        } else {
+            ProductoCursor anterior = ProductoCursor.decodificar(cursor);
+            resumenes = productoRepository.listarSiguientesResumenes(anterior.name(), anterior.id(), limite);
+        }
+
+        String siguienteCursor = null;
+        if (resumenes.size() > tamanioValido) {
+            resumenes = resumenes.subList(0, tamanioValido);
+            ProductoResumenDTO ultimo = resumenes.get(tamanioValido - 1);
+            siguienteCursor = new ProductoCursor(ultimo.getName(), ultimo.getId()).codificar();
+        }
+
+        return new CursorPaginaDTO<>(resumenes, tamanioValido, siguienteCursor);
+    }
+
+    // Valida los parámetros de paginación y arma el Pageable
+    private Pageable paginacion(int pagina, int tamanio) {
+        if (pagina < 0) {
+            throw new IllegalArgumentException("La página no puede ser negativa");
+        }
+        return PageRequest.of(pagina, validarTamanio(tamanio));
+    }
+
+    private int validarTamanio(int tamanio) {
+        if (tamanio < 1 || tamanio > TAMANIO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException(
+                    "El tamaño de página debe estar entre 1 y " + TAMANIO_MAXIMO_PAGINA);
+        }
+        return tamanio;
+    }
+
+    /**
+     * Crear nuevo producto usando DTO
+     * 
+     * @param dto   Datos del producto a crear
+     * @param email Email del usuario autenticado (obtenido del JWT)
+     * @return El producto creado como DTO
+     */
+    public ProductoDTO crearProducto(ProductoCreateDTO dto, String email) {
+        // Buscar el usuario por email (obtenido del token JWT)
+        Usuario usuario = usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con email: " + email));
+
+        // Convertir DTO a entidad
+        Producto producto = productoMapper.toEntity(dto);
+        producto.setUsuario(usuario);
+
+        // Si se proporcionaron IDs de categorías, validar y asignar
+        if (dto.getCategoriasIds() != null && !dto.getCategoriasIds().isEmpty()) {
+            Set<Categoria> categorias = new HashSet<>();
+            for (Long categoriaId : dto.getCategoriasIds()) {
+                Categoria categoria = categoriaRepository.findById(categoriaId)
+                        .orElseThrow(() -> new CategoriaNotFoundException(categoriaId));
+                categorias.add(categoria);
+            }
+            producto.setCategorias(categorias);
+
+            // Mantener la relación bidireccional
+            for (Categoria categoria : categorias) {
+                categoria.getProductos().add(producto);
+            }
+        }
+
+        Producto productoGuardado = productoRepository.save(producto);
+
+        // El producto nuevo aparece en los listados de sus categorías
+        invalidarCache(null, idsDeCategorias(productoGuardado.getCategorias()));
+        indexarDespuesDelCommit(productoGuardado);
+
+        return productoMapper.toDTO(productoGuardado);
+    }
+
+    // Actualizar producto usando DTO
+    public ProductoDTO actualizarProducto(Long id, ProductoUpdateDTO dto) {
+        Producto producto = productoRepository.findById(id)
+                .orElseThrow(() -> new ProductoNotFoundException(id));
+
+        // Categorías antes del cambio: el producto puede salir de sus listados
+        Set<Long> categoriasAfectadas = idsDeCategorias(producto.getCategorias());
+        int stockAnterior = producto.getStock();
+
+        // Actualizar campos usando el mapper
+        productoMapper.updateEntity(producto, dto);
+
+        // Actualizar categorías si se proporcionan
+        if (dto.getCategoriasIds() != null && !dto.getCategoriasIds().isEmpty()) {
+            Set<Categoria> categorias = new HashSet<>();
+            for (Long categoriaId : dto.getCategoriasIds()) {
+                Categoria categoria = categoriaRepository.findById(categoriaId)
+                        .orElseThrow(() -> new CategoriaNotFoundException(categoriaId));
+                categorias.add(categoria);
+            }
+            producto.setCategorias(categorias);
+        }
+
+        Producto productoActualizado = productoRepository.save(producto);
+
+        categoriasAfectadas.addAll(idsDeCategorias(productoActualizado.getCategorias()));
+        invalidarCache(id, categoriasAfectadas);
+        indexarDespuesDelCommit(productoActualizado);
+
+        // El disponible en memoria del motor de reservas acompaña el cambio
+        int diferenciaStock = productoActualizado.getStock() - stockAnterior;
+        if (motorReservasStock != null && diferenciaStock != 0) {
+            TransaccionUtils.despuesDelCommit(() -> motorReservasStock.ajustar(id, diferenciaStock));
+        }
+
+        return productoMapper.toDTO(productoActualizado);
+    }
+
+    /**
+     * Descontar stock (para cuando se realiza un checkout).
+     * Usa un UPDATE condicional en lugar de leer, validar y guardar: la base
+     * valida y descuenta en una sola operación atómica, sin perder
+     * actualizaciones ante checkouts concurrentes del mismo producto.
+     * 
+     * @param productoId ID del producto
+     * @param cantidad   Cantidad a descontar
+     * @throws ProductoNotFoundException  si el producto no existe
+     * @throws StockInsuficienteException si no hay stock suficiente
+     */
+    public void descontarStock(Long productoId, Integer cantidad) {
+        int filasActualizadas = productoRepository.descontarStock(productoId, cantidad);
+        if (filasActualizadas == 0) {
+            // No se descontó nada: el producto no existe o no alcanza el stock
+            Integer stockActual = productoRepository.obtenerStock(productoId)
+                    .orElseThrow(() -> new ProductoNotFoundException(productoId));
+            Producto producto = productoRepository.findById(productoId)
+                    .orElseThrow(() -> new ProductoNotFoundException(productoId));
+            throw new StockInsuficienteException(producto.getName(), stockActual, cantidad);
+        }
+
+        // Solo se invalida el detalle: los listados por categoría toleran un
+        // stock desactualizado hasta su TTL, así un checkout no vacía la caché
+        // de cada categoría del producto
+        invalidarCache(productoId, Set.of());
+    }
+
+    // Verificar si hay stock disponible (para validaciones antes del checkout)
+    @Transactional(readOnly = true)
+    public boolean tieneStock(Long productoId, Integer cantidad) {
+        Producto producto = productoRepository.findById(productoId)
+                .orElseThrow(() -> new ProductoNotFoundException(productoId));
+
+        return producto.getStock() >= cantidad;
+    }
+
+    // Eliminar producto (cualquier usuario autenticado puede hacerlo)
+    public void eliminarProducto(Long id) {
+        if (!productoRepository.existsById(id)) {
+            throw new ProductoNotFoundException(id);
+        }
+
+        // Antes de eliminar, comprobar si existen detalles de pedido que referencien
+        // este producto. Es una consulta de existencia: no carga los detalles,
+        // que para un producto muy vendido pueden ser miles
+        if (pedidoDetalleRepository.existsByProductoId(id)) {
+            throw new ProductoEnPedidosException();
+        }
+
+        List<Long> categoriaIds = productoRepository.findCategoriaIdsByProductoId(id);
+        productoRepository.deleteById(id);
+        invalidarCache(id, categoriaIds);
+        TransaccionUtils.despuesDelCommit(() -> {
+            productoSearchIndex.eliminar(id);
+            autocompletadoIndex.eliminarProducto(id);
+        });
+    }
+
+    /**
+     * Archivar un producto: deja de aparecer en el catálogo, la búsqueda y el
+     * autocompletado, y no puede comprarse, pero sigue existiendo para los
+     * pedidos que lo referencian. Es la forma de retirar un producto con ventas,
+     * que no puede eliminarse. Se resuelve con un UPDATE directo, sin cargar el
+     * producto ni su historial de pedidos. Archivar un producto ya archivado no
+     * tiene efecto; desarchivarProducto lo devuelve al catálogo.
+     * 
+     * @param id ID del producto a archivar
+     * @throws ProductoNotFoundException si el producto no existe
+     */
+    public void archivarProducto(Long id) {
+        if (productoRepository.archivar(id) == 0) {
+            if (!productoRepository.existsById(id)) {
+                throw new ProductoNotFoundException(id);
+            }
+            // Ya estaba archivado
+            return;
+        }
+
+        List<Long> categoriaIds = productoRepository.findCategoriaIdsByProductoId(id);
+        invalidarCache(id, categoriaIds);
+        TransaccionUtils.despuesDelCommit(() -> {
+            productoSearchIndex.eliminar(id);
+            autocompletadoIndex.eliminarProducto(id);
+        });
+    }
+
+    /**
+     * Devuelve al catálogo un producto archivado: vuelve a los listados, la
+     * búsqueda y el autocompletado (con la popularidad de sus ventas).
+     * Desarchivar un producto activo no tiene efecto.
+     * 
+     * @param id ID del producto a desarchivar
+     * @throws ProductoNotFoundException si el producto no existe
+     */
+    public void desarchivarProducto(Long id) {
+        if (productoRepository.desarchivar(id) == 0) {
+            if (!productoRepository.existsById(id)) {
+                throw new ProductoNotFoundException(id);
+            }
+            // Ya estaba activo
+            return;
+        }
+
+        Producto producto = productoRepository.findById(id)
+                .orElseThrow(() -> new ProductoNotFoundException(id));
+        long vendidos = pedidoDetalleRepository.sumarCantidadVendida(id);
+        invalidarCache(id, idsDeCategorias(producto.getCategorias()));
+
+        String nombre = producto.getName();
+        String descripcion = producto.getDescription();
+        TransaccionUtils.despuesDelCommit(() -> {
+            productoSearchIndex.indexar(id, nombre, descripcion);
+            autocompletadoIndex.indexarProducto(id, nombre, vendidos);
+        });
+    }
+
+    // Actualiza los índices de búsqueda y autocompletado una vez confirmada la
+    // escritura. Los productos archivados no se indexan
+    private void indexarDespuesDelCommit(Producto producto) {
+        if (!producto.isActivo()) {
+            return;
+        }
+        Long id = producto.getId();
+        String nombre = producto.getName();
+        String descripcion = producto.getDescription();
+        TransaccionUtils.despuesDelCommit(() -> {
+            productoSearchIndex.indexar(id, nombre, descripcion);
+            autocompletadoIndex.indexarProducto(id, nombre);
+        });
+    }
+
+    /**
+     * Invalida la caché del producto y de los listados de las categorías
+     * indicadas (y el snapshot de categorías, que incluye sus cantidades de
+     * productos). El CacheManager es transaccional, así que la invalidación se
+     * aplica después del commit.
+     * 
+     * @param productoId   ID del producto a invalidar (null si no aplica)
+     * @param categoriaIds IDs de las categorías cuyos listados cambian
+     */
+    private void invalidarCache(Long productoId, Collection<Long> categoriaIds) {
+        Cache productos = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS);
+        if (productos != null && productoId != null) {
+            productos.evict(productoId);
+        }
+
+        Cache productosPorCategoria = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS_POR_CATEGORIA);
+        if (productosPorCategoria != null) {
+            categoriaIds.forEach(productosPorCategoria::evict);
+        }
+
+        // Cambió la cantidad de productos de esas categorías (snapshot y
+        // popularidad en el autocompletado)
+        if (!categoriaIds.isEmpty()) {
+            categoriaService.invalidarSnapshot(categoriaIds);
+        }
+    }
+
+    private Set<Long> idsDeCategorias(Set<Categoria> categorias) {
+        if (categorias == null) {
+            return new HashSet<>();
+        }
+        return categorias.stream()
+                .map(Categoria::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
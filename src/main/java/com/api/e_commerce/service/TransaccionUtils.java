@@ -0,0 +1,32 @@
+package com.api.e_commerce.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para coordinar estructuras en memoria con las transacciones.
+ */
+final class TransaccionUtils {
+
+    private TransaccionUtils() {
+    }
+
+    /**
+     * Ejecuta la acción cuando la transacción actual se confirma (si se revierte,
+     * no se ejecuta). Sin transacción activa se ejecuta en el momento.
+     * Se usa para actualizar índices y snapshots en memoria solo con datos ya
+     * confirmados en la base.
+     */
+    static void despuesDelCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
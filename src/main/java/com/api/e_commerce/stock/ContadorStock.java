@@ -0,0 +1,119 @@
+package com.api.e_commerce.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock disponible de un producto repartido en franjas atómicas.
+ *
+ * Cada operación empieza por una franja al azar, así los checkouts
+ * concurrentes de un mismo producto hacen CAS sobre valores distintos en lugar
+ * de competir por uno solo. Una reserva toma unidades de la franja inicial y,
+ * si no alcanzan, de las siguientes; si entre todas no alcanzan, devuelve lo
+ * tomado y falla. Ninguna franja queda negativa.
+ *
+ * Los descuentos que no pueden rechazarse (un ajuste de stock hacia abajo o
+ * una reserva vencida que igual se confirmó) toman lo que haya en las franjas
+ * y el resto queda como deuda. Mientras haya deuda, cada reserva primero la
+ * salda con las unidades devueltas; el disponible es la suma de las franjas
+ * menos la deuda.
+ */
+final class ContadorStock {
+
+    // Cada franja ocupa su propia línea de caché (8 longs = 64 bytes)
+    private static final int RELLENO = 8;
+
+    private final int franjas;
+    private final AtomicLongArray valores;
+    private final AtomicLong deuda = new AtomicLong();
+
+    ContadorStock(long stock, int franjas) {
+        this.franjas = franjas;
+        this.valores = new AtomicLongArray(franjas * RELLENO);
+        if (stock < 0) {
+            deuda.set(-stock);
+            return;
+        }
+        for (int i = 0; i < franjas; i++) {
+            valores.set(i * RELLENO, stock / franjas + (i < stock % franjas ? 1 : 0));
+        }
+    }
+
+    /**
+     * Toma la cantidad completa o nada
+     *
+     * @return false si el disponible no alcanza
+     */
+    boolean reservar(long cantidad) {
+        if (deuda.get() > 0 && !saldarDeuda()) {
+            return false;
+        }
+        long faltante = tomar(cantidad);
+        if (faltante > 0) {
+            devolver(cantidad - faltante);
+            return false;
+        }
+        return true;
+    }
+
+    // Unidades que vuelven al disponible (reserva revertida o vencida, ajuste
+    // hacia arriba)
+    void devolver(long cantidad) {
+        if (cantidad > 0) {
+            valores.addAndGet(franjaInicial() * RELLENO, cantidad);
+        }
+    }
+
+    // Descuento que no puede rechazarse: lo que falte queda como deuda
+    void descontar(long cantidad) {
+        long faltante = tomar(cantidad);
+        if (faltante > 0) {
+            deuda.addAndGet(faltante);
+        }
+    }
+
+    long disponible() {
+        long total = 0;
+        for (int i = 0; i < franjas; i++) {
+            total += valores.get(i * RELLENO);
+        }
+        return total - deuda.get();
+    }
+
+    // Toma hasta `cantidad` unidades recorriendo las franjas; devuelve lo que
+    // no pudo tomar
+    private long tomar(long cantidad) {
+        long faltante = cantidad;
+        int inicio = franjaInicial();
+        for (int i = 0; i < franjas && faltante > 0; i++) {
+            int indice = ((inicio + i) % franjas) * RELLENO;
+            long actual = valores.get(indice);
+            while (actual > 0) {
+                long tomado = Math.min(actual, faltante);
+                if (valores.compareAndSet(indice, actual, actual - tomado)) {
+                    faltante -= tomado;
+                    break;
+                }
+                actual = valores.get(indice);
+            }
+        }
+        return faltante;
+    }
+
+    // Paga la deuda con las unidades de las franjas. Es el camino poco
+    // frecuente (después de un ajuste hacia abajo), así que se serializa
+    private synchronized boolean saldarDeuda() {
+        long pendiente = deuda.get();
+        if (pendiente <= 0) {
+            return true;
+        }
+        long pagado = pendiente - tomar(pendiente);
+        deuda.addAndGet(-pagado);
+        return pagado == pendiente;
+    }
+
+    private int franjaInicial() {
+        return franjas == 1 ? 0 : ThreadLocalRandom.current().nextInt(franjas);
+    }
+}
@@ -0,0 +1,336 @@
+package com.api.e_commerce.stock;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.e_commerce.config.CacheConfig;
+import com.api.e_commerce.exception.StockInsuficienteException;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.repository.PedidoDetalleRepository;
+import com.api.e_commerce.repository.PedidoRepository;
+import com.api.e_commerce.repository.ProductoRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reservas de stock en memoria para ventas con mucha concurrencia sobre pocos
+ * productos (stock.reservas.habilitado=true).
+ *
+ * Sin el motor, cada checkout descuenta con un UPDATE condicional sobre la
+ * fila del producto, y los checkouts de un mismo producto se encolan en el
+ * bloqueo de esa fila hasta el commit. Con el motor:
+ * - El disponible de cada producto vive en un ContadorStock (franjas
+ * atómicas), inicializado desde productos.stock la primera vez que se vende.
+ * - El checkout reserva en memoria, sin tocar la fila, y guarda el pedido con
+ * stock_aplicado = false.
+ * - Si la transacción se confirma, la reserva queda consumida; si se revierte
+ * (por ejemplo, falla el INSERT del pedido), las unidades se devuelven.
+ * - Una reserva que no se confirma ni se revierte dentro de
+ * stock.reservas.ttl vence y sus unidades se devuelven.
+ * - Cada stock.reservas.intervalo-escritura, un hilo propio descuenta de
+ * productos.stock las unidades de los pedidos pendientes: un UPDATE por
+ * producto con el total del lote, en lugar de uno por pedido.
+ * - Al arrancar, antes de atender peticiones, se aplican los pedidos que
+ * quedaron pendientes (por ejemplo, si la aplicación se detuvo entre el commit
+ * de un pedido y su escritura).
+ *
+ * productos.stock queda atrasado como mucho un intervalo de escritura respecto
+ * del disponible real, que siempre es menor o igual. El disponible se guarda
+ * en la memoria de esta instancia, así que el motor solo es correcto con una
+ * única instancia de la aplicación.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.reservas.habilitado", havingValue = "true")
+public class MotorReservasStock implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorReservasStock.class);
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PedidoDetalleRepository pedidoDetalleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    // Franjas por producto (0 = una por núcleo)
+    @Value("${stock.reservas.franjas:0}")
+    private int franjas;
+
+    @Value("${stock.reservas.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${stock.reservas.intervalo-escritura:1s}")
+    private Duration intervaloEscritura;
+
+    // Pedidos aplicados por transacción de escritura
+    @Value("${stock.reservas.lote-escritura:500}")
+    private int loteEscritura;
+
+    // ID de producto -> disponible
+    private final Map<Long, ContadorStock> contadores = new ConcurrentHashMap<>();
+
+    // Reservas de transacciones que todavía no terminaron
+    private final Map<Long, Reserva> activas = new ConcurrentHashMap<>();
+
+    private final AtomicLong secuencia = new AtomicLong();
+
+    private TransactionTemplate escritura;
+
+    private ScheduledExecutorService tareas;
+
+    private Counter vencidas;
+
+    // Unidades tomadas por un checkout hasta que su transacción termina
+    private record Reserva(long id, Map<Long, Integer> cantidades, long venceNanos) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (franjas <= 0) {
+            franjas = Runtime.getRuntime().availableProcessors();
+        }
+        escritura = new TransactionTemplate(transactionManager);
+
+        // Reconciliación: los pedidos confirmados antes de la última detención
+        // que no llegaron a descontarse se aplican antes de vender nada
+        int reconciliados = escribirPendientes();
+        if (reconciliados > 0) {
+            log.warn("Stock de {} pedidos pendientes aplicado al arrancar", reconciliados);
+        }
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("stock.reservas.activas", activas, Map::size)
+                    .description("Reservas de stock de checkouts en curso")
+                    .register(registry);
+            vencidas = Counter.builder("stock.reservas.vencidas")
+                    .description("Reservas devueltas por superar stock.reservas.ttl")
+                    .register(registry);
+        }
+
+        tareas = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("stock-reservas-"));
+        long intervalo = intervaloEscritura.toMillis();
+        tareas.scheduleWithFixedDelay(this::ejecutarTareas, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reserva las cantidades del carrito para la transacción actual. Si alguna
+     * no alcanza no se reserva nada. La reserva se consume cuando la
+     * transacción se confirma y se devuelve si se revierte.
+     *
+     * @param cantidades Unidades por ID de producto
+     * @param productos  Productos del carrito, leídos en la misma transacción
+     *                   (su stock inicializa el contador la primera vez)
+     * @throws StockInsuficienteException si algún producto no tiene disponible
+     * @throws IllegalStateException      si no hay una transacción activa
+     */
+    public void reservar(Map<Long, Integer> cantidades, Map<Long, Producto> productos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("La reserva de stock requiere una transacción activa");
+        }
+
+        Map<Long, Integer> tomadas = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<Long, Integer> entrada : cantidades.entrySet()) {
+                Producto producto = productos.get(entrada.getKey());
+                ContadorStock contador = contadores.computeIfAbsent(entrada.getKey(),
+                        id -> new ContadorStock(producto.getStock(), franjas));
+                if (!contador.reservar(entrada.getValue())) {
+                    throw new StockInsuficienteException(producto.getName(),
+                            (int) Math.max(0, contador.disponible()), entrada.getValue());
+                }
+                tomadas.put(entrada.getKey(), entrada.getValue());
+            }
+        } catch (RuntimeException e) {
+            devolver(tomadas);
+            throw e;
+        }
+
+        Reserva reserva = new Reserva(secuencia.incrementAndGet(), tomadas, System.nanoTime() + ttl.toNanos());
+        activas.put(reserva.id(), reserva);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Con estado desconocido el pedido pudo haberse guardado: se
+                // mantiene descontado (la reconciliación al arrancar corrige)
+                if (status == STATUS_ROLLED_BACK) {
+                    liberar(reserva);
+                } else {
+                    confirmar(reserva);
+                }
+            }
+        });
+    }
+
+    /**
+     * Aplica un cambio de stock hecho fuera del checkout (por ejemplo, al
+     * editar el producto) sobre el disponible en memoria. Debe llamarse después
+     * del commit. Si el producto todavía no se vendió no hace nada: su contador
+     * se inicializará desde la base.
+     *
+     * @param productoId ID del producto
+     * @param delta      Stock nuevo menos stock anterior
+     */
+    public void ajustar(Long productoId, int delta) {
+        ContadorStock contador = contadores.get(productoId);
+        if (contador == null) {
+            return;
+        }
+        if (delta > 0) {
+            contador.devolver(delta);
+        } else if (delta < 0) {
+            contador.descontar(-delta);
+        }
+    }
+
+    // Disponible en memoria, o null si el producto todavía no se vendió
+    Long disponible(Long productoId) {
+        ContadorStock contador = contadores.get(productoId);
+        return contador != null ? contador.disponible() : null;
+    }
+
+    /**
+     * Descuenta de productos.stock las unidades de todos los pedidos pendientes,
+     * de a stock.reservas.lote-escritura pedidos por transacción.
+     *
+     * @return Cantidad de pedidos aplicados
+     */
+    int escribirPendientes() {
+        int total = 0;
+        int aplicados;
+        do {
+            Integer lote = escritura.execute(status -> escribirLote());
+            aplicados = lote != null ? lote : 0;
+            total += aplicados;
+        } while (aplicados == loteEscritura);
+        return total;
+    }
+
+    // Devuelve las reservas que superaron el TTL
+    void expirarReservas(long ahoraNanos) {
+        for (Reserva reserva : activas.values()) {
+            if (ahoraNanos - reserva.venceNanos() > 0 && activas.remove(reserva.id(), reserva)) {
+                devolver(reserva.cantidades());
+                if (vencidas != null) {
+                    vencidas.increment();
+                }
+                log.warn("Reserva de stock {} vencida sin terminar su transacción: {}", reserva.id(),
+                        reserva.cantidades());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        tareas.shutdown();
+        try {
+            // Lo que no llegue a escribirse se aplica al próximo arranque
+            tareas.awaitTermination(intervaloEscritura.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ejecutarTareas() {
+        try {
+            expirarReservas(System.nanoTime());
+            escribirPendientes();
+        } catch (RuntimeException e) {
+            // Se reintenta en el próximo intervalo; una excepción cancelaría la tarea
+            log.error("Error al escribir el stock reservado", e);
+        }
+    }
+
+    private int escribirLote() {
+        List<Long> pedidoIds = pedidoRepository.buscarIdsConStockPendiente(Limit.of(loteEscritura));
+        if (pedidoIds.isEmpty()) {
+            return 0;
+        }
+        // Se marcan primero: si otra escritura ya aplicó alguno, se revierte el
+        // lote entero en lugar de descontarlo dos veces
+        if (pedidoRepository.marcarStockAplicado(pedidoIds) != pedidoIds.size()) {
+            throw new IllegalStateException("Pedidos aplicados por otra escritura de stock");
+        }
+
+        // Delta neto por producto, en orden de ID como los bloqueos del checkout
+        Map<Long, Long> unidadesPorProducto = new TreeMap<>();
+        for (Object[] fila : pedidoDetalleRepository.sumarCantidadesPorProducto(pedidoIds)) {
+            unidadesPorProducto.put((Long) fila[0], ((Number) fila[1]).longValue());
+        }
+        Set<Long> productoIds = new HashSet<>();
+        for (Map.Entry<Long, Long> entrada : unidadesPorProducto.entrySet()) {
+            productoRepository.restarStock(entrada.getKey(), Math.toIntExact(entrada.getValue()));
+            productoIds.add(entrada.getKey());
+        }
+
+        // El detalle cacheado muestra el stock de la base (el evict se aplica
+        // después del commit)
+        CacheManager caches = cacheManager.getIfAvailable();
+        Cache productos = caches != null ? caches.getCache(CacheConfig.CACHE_PRODUCTOS) : null;
+        if (productos != null) {
+            productoIds.forEach(productos::evict);
+        }
+        return pedidoIds.size();
+    }
+
+    private void confirmar(Reserva reserva) {
+        if (activas.remove(reserva.id(), reserva)) {
+            return;
+        }
+        // Venció antes del commit y sus unidades ya se devolvieron: el pedido
+        // existe, así que se vuelven a descontar aunque quede deuda
+        log.warn("Reserva de stock {} confirmada después de vencer: {}", reserva.id(), reserva.cantidades());
+        reserva.cantidades().forEach((productoId, cantidad) -> contadores.get(productoId).descontar(cantidad));
+    }
+
+    private void liberar(Reserva reserva) {
+        if (activas.remove(reserva.id(), reserva)) {
+            devolver(reserva.cantidades());
+        }
+    }
+
+    private void devolver(Map<Long, Integer> cantidades) {
+        cantidades.forEach((productoId, cantidad) -> contadores.get(productoId).devolver(cantidad));
+    }
+}
@@ -0,0 +1,70 @@
+-- Esquema inicial para H2 (perfil "h2" y pruebas con @DataJpaTest). Es el mismo
+-- de db/migration/mysql, con los tipos equivalentes de H2.
+
+CREATE TABLE usuarios (
+    id BIGINT NOT NULL,
+    nombre VARCHAR(255),
+    apellido VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    role VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE categorias (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categorias_name UNIQUE (name)
+);
+
+CREATE TABLE productos (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    -- TEXT de MySQL: en H2 TEXT es un CLOB, que no coincide con el mapeo
+    -- (columnDefinition = "TEXT", tipo VARCHAR) al validar el esquema
+    description VARCHAR,
+    price DECIMAL(10, 2) NOT NULL,
+    stock INT NOT NULL,
+    image VARCHAR(255) NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_productos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE producto_categoria (
+    producto_id BIGINT NOT NULL,
+    categoria_id BIGINT NOT NULL,
+    PRIMARY KEY (producto_id, categoria_id),
+    CONSTRAINT fk_producto_categoria_producto FOREIGN KEY (producto_id) REFERENCES productos (id),
+    CONSTRAINT fk_producto_categoria_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id)
+);
+
+CREATE TABLE pedidos (
+    id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    fecha_pedido TIMESTAMP(6) NOT NULL,
+    monto_total DECIMAL(10, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pedidos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE pedido_detalles (
+    id BIGINT NOT NULL,
+    pedido_id BIGINT NOT NULL,
+    producto_id BIGINT NOT NULL,
+    cantidad INT NOT NULL,
+    precio_unitario DECIMAL(10, 2) NOT NULL,
+    subtotal DECIMAL(10, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pedido_detalles_pedido FOREIGN KEY (pedido_id) REFERENCES pedidos (id),
+    CONSTRAINT fk_pedido_detalles_producto FOREIGN KEY (producto_id) REFERENCES productos (id)
+);
+
+-- Bloques de IDs de cada entidad (@TableGenerator, allocationSize = 50)
+CREATE TABLE id_generadores (
+    entidad VARCHAR(255) NOT NULL,
+    siguiente_valor BIGINT,
+    PRIMARY KEY (entidad)
+);
@@ -0,0 +1,12 @@
+-- Mismos índices que db/migration/mysql/V2. La base H2 siempre arranca vacía,
+-- así que no hace falta ajustar id_generadores.
+
+CREATE INDEX idx_productos_name_id ON productos (name, id);
+
+CREATE INDEX idx_producto_categoria_categoria ON producto_categoria (categoria_id, producto_id);
+
+CREATE INDEX idx_pedido_detalles_producto ON pedido_detalles (producto_id, cantidad);
+
+CREATE INDEX idx_pedido_detalles_pedido_producto ON pedido_detalles (pedido_id, producto_id);
+
+CREATE INDEX idx_pedidos_usuario_fecha ON pedidos (usuario_id, fecha_pedido);
@@ -0,0 +1,2 @@
+-- Mismo cambio que db/migration/mysql/V3: archivado de productos
+ALTER TABLE productos ADD COLUMN activo BOOLEAN NOT NULL DEFAULT TRUE;
@@ -0,0 +1,4 @@
+-- Mismo cambio que db/migration/mysql/V4: pedidos con stock pendiente de aplicar
+ALTER TABLE pedidos ADD COLUMN stock_aplicado BOOLEAN NOT NULL DEFAULT TRUE;
+
+CREATE INDEX idx_pedidos_stock_aplicado ON pedidos (stock_aplicado, id);
@@ -0,0 +1,69 @@
+-- Esquema inicial: el mismo que generaba spring.jpa.hibernate.ddl-auto=update
+-- para el mapeo actual. En una base existente Flyway la toma como línea base
+-- (spring.flyway.baseline-on-migrate) y este script no se ejecuta.
+
+CREATE TABLE usuarios (
+    id BIGINT NOT NULL,
+    nombre VARCHAR(255),
+    apellido VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    role ENUM('USER', 'ADMIN'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE categorias (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categorias_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE productos (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(10, 2) NOT NULL,
+    stock INT NOT NULL,
+    image VARCHAR(255) NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_productos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE producto_categoria (
+    producto_id BIGINT NOT NULL,
+    categoria_id BIGINT NOT NULL,
+    PRIMARY KEY (producto_id, categoria_id),
+    CONSTRAINT fk_producto_categoria_producto FOREIGN KEY (producto_id) REFERENCES productos (id),
+    CONSTRAINT fk_producto_categoria_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE pedidos (
+    id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    fecha_pedido DATETIME(6) NOT NULL,
+    monto_total DECIMAL(10, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pedidos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE pedido_detalles (
+    id BIGINT NOT NULL,
+    pedido_id BIGINT NOT NULL,
+    producto_id BIGINT NOT NULL,
+    cantidad INT NOT NULL,
+    precio_unitario DECIMAL(10, 2) NOT NULL,
+    subtotal DECIMAL(10, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pedido_detalles_pedido FOREIGN KEY (pedido_id) REFERENCES pedidos (id),
+    CONSTRAINT fk_pedido_detalles_producto FOREIGN KEY (producto_id) REFERENCES productos (id)
+) ENGINE = InnoDB;
+
+-- Bloques de IDs de cada entidad (@TableGenerator, allocationSize = 50)
+CREATE TABLE id_generadores (
+    entidad VARCHAR(255) NOT NULL,
+    siguiente_valor BIGINT,
+    PRIMARY KEY (entidad)
+) ENGINE = InnoDB;
@@ -0,0 +1,62 @@
+-- Índices para las consultas de los repositorios. Cada uno sigue el orden de
+-- las columnas de filtro y de ORDER BY, de modo que la consulta se resuelve
+-- leyendo el índice sin ordenar en memoria ni recorrer la tabla.
+
+-- Catálogo por nombre: findAllByOrderByNameAsc, las versiones paginadas y la
+-- paginación keyset sobre (name, id). findByNameContainingIgnoreCase no puede
+-- usar un índice B-tree (LIKE '%texto%'); la búsqueda del catálogo se resuelve
+-- con ProductoSearchIndex en memoria
+CREATE INDEX idx_productos_name_id ON productos (name, id);
+
+-- Productos de una categoría y conteos por categoría. La clave primaria
+-- (producto_id, categoria_id) solo sirve para buscar por producto
+CREATE INDEX idx_producto_categoria_categoria ON producto_categoria (categoria_id, producto_id);
+
+-- Detalles por producto: existencia, conteo y unidades vendidas (SUM de
+-- cantidad) se leen del índice sin tocar la fila
+CREATE INDEX idx_pedido_detalles_producto ON pedido_detalles (producto_id, cantidad);
+
+-- Detalles de un pedido, y de un producto dentro de un pedido
+CREATE INDEX idx_pedido_detalles_pedido_producto ON pedido_detalles (pedido_id, producto_id);
+
+-- Historial de pedidos por usuario ordenado por fecha (keyset). Una base
+-- creada con ddl-auto=update después del @Index de Pedido ya lo tiene, y MySQL
+-- no admite CREATE INDEX IF NOT EXISTS: se crea solo si falta
+SET @existe_indice = (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'pedidos'
+    AND index_name = 'idx_pedidos_usuario_fecha');
+SET @crear_indice = IF(@existe_indice = 0,
+    'CREATE INDEX idx_pedidos_usuario_fecha ON pedidos (usuario_id, fecha_pedido)',
+    'DO 0');
+PREPARE crear_indice FROM @crear_indice;
+EXECUTE crear_indice;
+DEALLOCATE PREPARE crear_indice;
+
+-- Generadores de IDs: las bases creadas con IDENTITY no tienen la fila de cada
+-- entidad, o la tienen por debajo del mayor ID existente. Se lleva cada valor
+-- por encima de MAX(id) + 50 (un bloque completo del optimizador pooled) para
+-- que el próximo bloque reservado no choque con filas existentes
+CREATE TABLE IF NOT EXISTS id_generadores (
+    entidad VARCHAR(255) NOT NULL,
+    siguiente_valor BIGINT,
+    PRIMARY KEY (entidad)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO id_generadores (entidad, siguiente_valor)
+VALUES ('usuarios', 1), ('categorias', 1), ('productos', 1), ('pedidos', 1), ('pedido_detalles', 1);
+
+UPDATE id_generadores
+SET siguiente_valor = GREATEST(siguiente_valor, (SELECT COALESCE(MAX(id), 0) + 51 FROM usuarios))
+WHERE entidad = 'usuarios';
+UPDATE id_generadores
+SET siguiente_valor = GREATEST(siguiente_valor, (SELECT COALESCE(MAX(id), 0) + 51 FROM categorias))
+WHERE entidad = 'categorias';
+UPDATE id_generadores
+SET siguiente_valor = GREATEST(siguiente_valor, (SELECT COALESCE(MAX(id), 0) + 51 FROM productos))
+WHERE entidad = 'productos';
+UPDATE id_generadores
+SET siguiente_valor = GREATEST(siguiente_valor, (SELECT COALESCE(MAX(id), 0) + 51 FROM pedidos))
+WHERE entidad = 'pedidos';
+UPDATE id_generadores
+SET siguiente_valor = GREATEST(siguiente_valor, (SELECT COALESCE(MAX(id), 0) + 51 FROM pedido_detalles))
+WHERE entidad = 'pedido_detalles';
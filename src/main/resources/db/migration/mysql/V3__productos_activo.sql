@@ -0,0 +1,5 @@
+-- Archivado de productos: un producto con activo = FALSE sale del catálogo pero
+-- se conserva para los pedidos que lo referencian. Los existentes quedan activos.
+-- Los listados siguen recorriendo idx_productos_name_id en orden y descartan los
+-- archivados al leer la fila, que son pocos frente al catálogo activo.
+ALTER TABLE productos ADD COLUMN activo BOOLEAN NOT NULL DEFAULT TRUE;
@@ -0,0 +1,8 @@
+-- Motor de reservas de stock (stock.reservas.habilitado): los pedidos se
+-- confirman antes de descontar productos.stock, que se actualiza en lote. Un
+-- pedido con stock_aplicado = FALSE todavía no se descontó; al arrancar se
+-- aplican los que quedaron pendientes. Los pedidos existentes ya lo están.
+ALTER TABLE pedidos ADD COLUMN stock_aplicado BOOLEAN NOT NULL DEFAULT TRUE;
+
+-- Pedidos pendientes de aplicar en orden de ID (escritura en lote)
+CREATE INDEX idx_pedidos_stock_aplicado ON pedidos (stock_aplicado, id);
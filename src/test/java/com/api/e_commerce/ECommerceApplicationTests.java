@@ -1,13 +1,13 @@
-package com.api.e_commerce;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
-
-@SpringBootTest
-class ECommerceApplicationTests {
-
-	@Test
-	void contextLoads() {
-	}
-
-}
+package com.api.e_commerce;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ECommerceApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.api.e_commerce.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Pedido;
+import com.api.e_commerce.model.PedidoDetalle;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Role;
+import com.api.e_commerce.model.Usuario;
+
+/**
+ * Datos en memoria (sin base de datos) para los benchmarks.
+ */
+final class DatosBenchmark {
+
+	private DatosBenchmark() {
+	}
+
+	static Usuario usuario() {
+		return Usuario.builder()
+				.id(1L)
+				.nombre("Ana")
+				.apellido("Pérez")
+				.email("ana@example.com")
+				.password("x")
+				.role(Role.ADMIN)
+				.build();
+	}
+
+	static List<Categoria> categorias(int cantidad) {
+		List<Categoria> categorias = new ArrayList<>(cantidad);
+		for (long i = 1; i <= cantidad; i++) {
+			Categoria categoria = new Categoria();
+			categoria.setId(i);
+			categoria.setName("Categoría " + i);
+			categorias.add(categoria);
+		}
+		return categorias;
+	}
+
+	// Productos con dos categorías cada uno y el mismo usuario, como en el catálogo
+	static List<Producto> productos(int cantidad) {
+		Usuario usuario = usuario();
+		List<Categoria> categorias = categorias(10);
+		List<Producto> productos = new ArrayList<>(cantidad);
+		for (long i = 1; i <= cantidad; i++) {
+			Producto producto = new Producto();
+			producto.setId(i);
+			producto.setName("Producto " + i);
+			producto.setDescription("Descripción del producto " + i + " con algo de texto para serializar");
+			producto.setPrice(BigDecimal.valueOf(1000 + i * 37, 2));
+			producto.setStock((int) (i % 50));
+			producto.setImage("https://example.com/img/" + i + ".jpg");
+			Set<Categoria> suyas = new HashSet<>();
+			suyas.add(categorias.get((int) (i % categorias.size())));
+			suyas.add(categorias.get((int) ((i + 3) % categorias.size())));
+			producto.setCategorias(suyas);
+			producto.setUsuario(usuario);
+			productos.add(producto);
+		}
+		return productos;
+	}
+
+	// Pedido con una línea por producto y cantidades variadas
+	static Pedido pedido(int lineas) {
+		Pedido pedido = new Pedido();
+		pedido.setId(1L);
+		pedido.setUsuario(usuario());
+		long id = 1;
+		for (Producto producto : productos(lineas)) {
+			PedidoDetalle detalle = new PedidoDetalle(producto, (int) (id % 5) + 1);
+			detalle.setId(id++);
+			detalle.setPedido(pedido);
+			pedido.getDetalles().add(detalle);
+		}
+		pedido.calcularMontoTotal();
+		return pedido;
+	}
+}
@@ -0,0 +1,53 @@
+package com.api.e_commerce.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.api.e_commerce.dto.producto.ProductoDTO;
+import com.api.e_commerce.dto.producto.ProductoMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Costo de serializar a JSON un listado de productos, como lo hace Spring MVC
+ * al responder GET /api/productos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+	@Param({ "20", "1000" })
+	private int cantidad;
+
+	private ObjectMapper objectMapper;
+	private List<ProductoDTO> productos;
+
+	@Setup
+	public void preparar() {
+		// Misma configuración base que el ObjectMapper de Spring Boot
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		productos = new ProductoMapper().toDTOList(DatosBenchmark.productos(cantidad));
+	}
+
+	@Benchmark
+	public byte[] serializarProductos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(productos);
+	}
+}
@@ -0,0 +1,59 @@
+package com.api.e_commerce.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.e_commerce.security.JwtUtil;
+
+/**
+ * Costo de emitir un token (login) y de validarlo (cada petición autenticada).
+ * Con tamanioCache=0 la validación verifica la firma siempre; con caché mide
+ * el caso habitual de un token que se repite.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+	@Param({ "0", "10000" })
+	private long tamanioCache;
+
+	private JwtUtil jwtUtil;
+	private String token;
+
+	@Setup
+	public void preparar() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", "miClaveSecretaSuperSeguraParaJWT2024EcommerceAplicacionesInteractivas");
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+		ReflectionTestUtils.setField(jwtUtil, "tamanioMaximoCache", tamanioCache);
+		jwtUtil.init();
+		token = jwtUtil.generateToken("ana@example.com", Set.of("ROLE_USER"));
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken("ana@example.com", Set.of("ROLE_USER"));
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return jwtUtil.validateToken(token);
+	}
+}
@@ -0,0 +1,60 @@
+package com.api.e_commerce.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.api.e_commerce.dto.pedido.PedidoMapper;
+import com.api.e_commerce.dto.pedido.PedidoResponseDTO;
+import com.api.e_commerce.dto.producto.ProductoDTO;
+import com.api.e_commerce.dto.producto.ProductoMapper;
+import com.api.e_commerce.model.Pedido;
+import com.api.e_commerce.model.Producto;
+
+/**
+ * Costo de mapear entidades a DTOs en los listados y en la respuesta del
+ * checkout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+	@Param({ "20", "1000" })
+	private int cantidad;
+
+	private ProductoMapper productoMapper;
+	private List<Producto> productos;
+	private Pedido pedido;
+
+	@Setup
+	public void preparar() {
+		productoMapper = new ProductoMapper();
+		productos = DatosBenchmark.productos(cantidad);
+		pedido = DatosBenchmark.pedido(cantidad);
+	}
+
+	@Benchmark
+	public List<ProductoDTO> productoToDTOList() {
+		return productoMapper.toDTOList(productos);
+	}
+
+	@Benchmark
+	public PedidoResponseDTO pedidoToResponseDTO() {
+		return PedidoMapper.toResponseDTO(pedido);
+	}
+}
@@ -0,0 +1,47 @@
+package com.api.e_commerce.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.api.e_commerce.model.Pedido;
+
+/**
+ * Costo de calcular el total de un pedido (se ejecuta en cada persist/update)
+ * según la cantidad de líneas del carrito.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int lineas;
+
+	private Pedido pedido;
+
+	@Setup
+	public void preparar() {
+		pedido = DatosBenchmark.pedido(lineas);
+	}
+
+	@Benchmark
+	public BigDecimal calcularMontoTotal() {
+		pedido.calcularMontoTotal();
+		return pedido.getMontoTotal();
+	}
+}
@@ -0,0 +1,315 @@
+package com.api.e_commerce.carga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Role;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.repository.CategoriaRepository;
+import com.api.e_commerce.repository.ProductoRepository;
+import com.api.e_commerce.repository.UsuarioRepository;
+import com.api.e_commerce.search.AutocompletadoIndex;
+import com.api.e_commerce.search.ProductoSearchIndex;
+
+/**
+ * Prueba de carga de punta a punta sobre el perfil "h2" (sin MySQL).
+ * 
+ * Levanta la aplicación en un puerto aleatorio, carga productos, categorías y
+ * usuarios, y genera tráfico mixto (catálogo paginado, búsqueda, login y
+ * checkout) desde varios hilos. Informa por endpoint la cantidad de
+ * operaciones, el throughput y la latencia p50/p99/p999 (HdrHistogram), y deja
+ * el resultado en target/carga-resultados.csv para comparar contra una línea
+ * base.
+ * 
+ * No corre con el resto de los tests. Se ejecuta con:
+ * mvn test -Dtest=PruebaCargaTest -Dcarga=true
+ * Parámetros opcionales (propiedades del sistema): carga.productos,
+ * carga.usuarios, carga.hilos, carga.calentamiento y carga.duracion (segundos).
+ * 
+ * Es un modelo de carga cerrado: cada hilo espera la respuesta antes de la
+ * siguiente petición, así que bajo saturación mide latencia de servicio y no
+ * tiempo en cola de clientes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class PruebaCargaTest {
+
+	private static final int PRODUCTOS = Integer.getInteger("carga.productos", 2000);
+	private static final int USUARIOS = Integer.getInteger("carga.usuarios", 20);
+	private static final int HILOS = Integer.getInteger("carga.hilos", 16);
+	private static final int CALENTAMIENTO_SEGUNDOS = Integer.getInteger("carga.calentamiento", 5);
+	private static final int DURACION_SEGUNDOS = Integer.getInteger("carga.duracion", 30);
+
+	private static final String PASSWORD = "password123";
+	private static final String[] PALABRAS = { "notebook", "mouse", "teclado", "monitor", "auriculares", "silla" };
+
+	@LocalServerPort
+	private int puerto;
+
+	@Autowired
+	private ProductoRepository productoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ProductoSearchIndex productoSearchIndex;
+
+	@Autowired
+	private AutocompletadoIndex autocompletadoIndex;
+
+	private final HttpClient cliente = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private final Map<String, Estadistica> estadisticas = new LinkedHashMap<>();
+
+	private List<Long> productoIds;
+	private List<String> emails;
+	private List<String> tokens;
+
+	@Test
+	void traficoMixto() throws Exception {
+		sembrarDatos();
+		tokens = new ArrayList<>();
+		for (String email : emails) {
+			tokens.add(login(email).body());
+		}
+
+		for (String endpoint : List.of("GET /api/productos/pagina", "GET /api/productos/buscar",
+				"POST /api/auth/login", "POST /api/pedidos/checkout")) {
+			estadisticas.put(endpoint, new Estadistica());
+		}
+
+		long inicio = System.nanoTime();
+		long inicioMedicion = inicio + TimeUnit.SECONDS.toNanos(CALENTAMIENTO_SEGUNDOS);
+		long fin = inicioMedicion + TimeUnit.SECONDS.toNanos(DURACION_SEGUNDOS);
+
+		ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+		for (int i = 0; i < HILOS; i++) {
+			hilos.submit(() -> {
+				while (System.nanoTime() < fin) {
+					ejecutarOperacion(System.nanoTime() >= inicioMedicion);
+				}
+				return null;
+			});
+		}
+		hilos.shutdown();
+		assertThat(hilos.awaitTermination(DURACION_SEGUNDOS + CALENTAMIENTO_SEGUNDOS + 60L, TimeUnit.SECONDS))
+				.isTrue();
+
+		informar();
+
+		estadisticas.forEach((endpoint, estadistica) -> {
+			assertThat(estadistica.histograma.getTotalCount()).as(endpoint).isPositive();
+			assertThat(estadistica.errores.sum()).as("errores en " + endpoint).isZero();
+		});
+	}
+
+	// Una operación elegida al azar: 50% catálogo, 25% búsqueda, 5% login, 20% checkout
+	private void ejecutarOperacion(boolean medir) throws IOException, InterruptedException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int sorteo = random.nextInt(100);
+		String endpoint;
+		HttpRequest peticion;
+
+		if (sorteo < 50) {
+			endpoint = "GET /api/productos/pagina";
+			int paginas = Math.max(1, PRODUCTOS / 20);
+			peticion = get("/api/productos/pagina?pagina=" + random.nextInt(paginas) + "&tamanio=20");
+		} else if (sorteo < 75) {
+			endpoint = "GET /api/productos/buscar";
+			peticion = get("/api/productos/buscar?nombre=" + PALABRAS[random.nextInt(PALABRAS.length)]);
+		} else if (sorteo < 80) {
+			endpoint = "POST /api/auth/login";
+			peticion = peticionLogin(emails.get(random.nextInt(emails.size())));
+		} else {
+			endpoint = "POST /api/pedidos/checkout";
+			peticion = peticionCheckout(tokens.get(random.nextInt(tokens.size())), random);
+		}
+
+		long inicio = System.nanoTime();
+		HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+		long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+
+		if (medir) {
+			estadisticas.get(endpoint).registrar(micros, respuesta.statusCode());
+		}
+	}
+
+	private void sembrarDatos() {
+		List<Categoria> categorias = new ArrayList<>();
+		for (String palabra : PALABRAS) {
+			Categoria categoria = new Categoria();
+			categoria.setName("Categoría " + palabra);
+			categorias.add(categoria);
+		}
+		categorias = categoriaRepository.saveAll(categorias);
+
+		emails = new ArrayList<>();
+		List<Usuario> usuarios = new ArrayList<>();
+		String passwordCodificada = passwordEncoder.encode(PASSWORD);
+		for (int i = 0; i < USUARIOS; i++) {
+			String email = "carga" + i + "@example.com";
+			emails.add(email);
+			usuarios.add(Usuario.builder()
+					.nombre("Usuario")
+					.apellido(String.valueOf(i))
+					.email(email)
+					.password(passwordCodificada)
+					.role(Role.USER)
+					.build());
+		}
+		usuarios = usuarioRepository.saveAll(usuarios);
+
+		List<Producto> productos = new ArrayList<>();
+		for (int i = 0; i < PRODUCTOS; i++) {
+			String palabra = PALABRAS[i % PALABRAS.length];
+			Producto producto = new Producto();
+			producto.setName(palabra + " modelo " + i);
+			producto.setDescription("Descripción de " + palabra + " número " + i);
+			producto.setPrice(BigDecimal.valueOf(1000 + i, 2));
+			// Stock de sobra: el checkout no debe fallar por falta de stock
+			producto.setStock(1_000_000);
+			producto.setImage("https://example.com/" + i + ".jpg");
+			producto.setCategorias(new HashSet<>(Set.of(categorias.get(i % categorias.size()))));
+			producto.setUsuario(usuarios.get(i % usuarios.size()));
+			productos.add(producto);
+		}
+		productoIds = productoRepository.saveAll(productos).stream().map(Producto::getId).toList();
+
+		// Los índices en memoria se construyeron al arrancar, antes de sembrar
+		productoSearchIndex.reconstruir();
+		autocompletadoIndex.reconstruir();
+	}
+
+	private HttpResponse<String> login(String email) throws IOException, InterruptedException {
+		HttpResponse<String> respuesta = cliente.send(peticionLogin(email), HttpResponse.BodyHandlers.ofString());
+		assertThat(respuesta.statusCode()).isEqualTo(200);
+		return respuesta;
+	}
+
+	private HttpRequest get(String ruta) {
+		return HttpRequest.newBuilder(uri(ruta)).GET().build();
+	}
+
+	private HttpRequest peticionLogin(String email) {
+		String json = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+		return HttpRequest.newBuilder(uri("/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	// Carrito de 1 a 5 productos distintos al azar
+	private HttpRequest peticionCheckout(String token, ThreadLocalRandom random) {
+		int cantidadItems = 1 + random.nextInt(5);
+		Set<Long> elegidos = new HashSet<>();
+		while (elegidos.size() < cantidadItems) {
+			elegidos.add(productoIds.get(random.nextInt(productoIds.size())));
+		}
+		StringBuilder json = new StringBuilder("{\"items\":[");
+		for (Long productoId : elegidos) {
+			if (json.charAt(json.length() - 1) != '[') {
+				json.append(',');
+			}
+			json.append("{\"productoId\":").append(productoId).append(",\"cantidad\":1}");
+		}
+		json.append("]}");
+
+		return HttpRequest.newBuilder(uri("/api/pedidos/checkout"))
+				.header("Content-Type", "application/json")
+				.header("Authorization", "Bearer " + token)
+				.POST(HttpRequest.BodyPublishers.ofString(json.toString()))
+				.build();
+	}
+
+	private URI uri(String ruta) {
+		return URI.create("http://localhost:" + puerto + ruta);
+	}
+
+	private void informar() throws IOException {
+		Path archivo = Path.of("target", "carga-resultados.csv");
+		Files.createDirectories(archivo.getParent());
+
+		System.out.printf("%nPrueba de carga: %d hilos, %d s medidos, %d productos, %d usuarios%n",
+				HILOS, DURACION_SEGUNDOS, PRODUCTOS, USUARIOS);
+		System.out.printf("%-30s %9s %10s %9s %9s %9s %9s %7s%n",
+				"endpoint", "ops", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errores");
+
+		try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(archivo))) {
+			csv.println("endpoint,ops,ops_por_segundo,p50_ms,p99_ms,p999_ms,max_ms,errores");
+			estadisticas.forEach((endpoint, estadistica) -> {
+				Histogram h = estadistica.histograma;
+				double opsPorSegundo = (double) h.getTotalCount() / DURACION_SEGUNDOS;
+				System.out.printf("%-30s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+						endpoint, h.getTotalCount(), opsPorSegundo,
+						ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+						ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()), estadistica.errores.sum());
+				csv.printf(Locale.ROOT, "%s,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d%n",
+						endpoint, h.getTotalCount(), opsPorSegundo,
+						ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+						ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()), estadistica.errores.sum());
+			});
+		}
+		System.out.println("Resultados en " + archivo.toAbsolutePath());
+	}
+
+	private static double ms(long micros) {
+		return micros / 1000.0;
+	}
+
+	// Latencias en microsegundos (hasta 60 s, 3 dígitos de precisión) y errores
+	private static class Estadistica {
+		private final Histogram histograma = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+		private final LongAdder errores = new LongAdder();
+
+		void registrar(long micros, int status) {
+			histograma.recordValue(Math.min(micros, histograma.getHighestTrackableValue()));
+			if (status >= 400) {
+				errores.increment();
+			}
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.api.e_commerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class CacheVersionadaTest {
+
+	private final CacheVersionada cache = new CacheVersionada(new ConcurrentMapCache("productos"));
+
+	@Test
+	void lecturaSinInvalidacionSeCachea() {
+		assertThat(cache.get(1L)).isNull();
+		cache.put(1L, "actual");
+
+		assertThat(cache.get(1L, String.class)).isEqualTo("actual");
+	}
+
+	@Test
+	void lecturaAnteriorAUnaInvalidacionNoSeCachea() {
+		// El lector no encuentra el valor y lee la fila vieja
+		assertThat(cache.get(1L)).isNull();
+		// La escritura confirma e invalida antes del put del lector
+		cache.evict(1L);
+		cache.put(1L, "viejo");
+
+		assertThat(cache.get(1L)).isNull();
+	}
+
+	@Test
+	void invalidacionDeOtraFranjaNoDescartaElPut() {
+		assertThat(cache.get(1L)).isNull();
+		cache.evict(2L);
+		cache.put(1L, "actual");
+
+		assertThat(cache.get(1L, String.class)).isEqualTo("actual");
+	}
+
+	@Test
+	void clearDescartaLasLecturasPendientes() {
+		assertThat(cache.get(1L)).isNull();
+		cache.clear();
+		cache.put(1L, "viejo");
+
+		assertThat(cache.get(1L)).isNull();
+	}
+
+	@Test
+	void putSinLecturaPreviaSeGuarda() {
+		cache.evict(1L);
+		cache.put(1L, "actual");
+
+		assertThat(cache.get(1L, String.class)).isEqualTo("actual");
+	}
+}
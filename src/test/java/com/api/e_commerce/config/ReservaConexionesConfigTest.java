@@ -0,0 +1,99 @@
+package com.api.e_commerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.e_commerce.model.Role;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.repository.UsuarioRepository;
+
+/**
+ * Inserciones concurrentes con más transacciones que conexiones en el pool.
+ * 
+ * Cada transacción inserta más usuarios que un bloque de IDs (50), así que el
+ * @TableGenerator necesita una segunda conexión mientras la transacción retiene
+ * la suya. Sin el pool reservado (db.generador-ids.conexiones=0), con el pool
+ * principal ocupado por transacciones que insertan, todas esperarían al
+ * generador hasta el connection-timeout.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:reserva;DB_CLOSE_DELAY=-1",
+		"spring.datasource.hikari.maximum-pool-size=4",
+		"spring.datasource.hikari.connection-timeout=2000",
+		"db.generador-ids.conexiones=1" })
+@ActiveProfiles("h2")
+class ReservaConexionesConfigTest {
+
+	private static final int HILOS = 12;
+	private static final int USUARIOS_POR_TRANSACCION = 120;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Test
+	void insercionesConcurrentesEnElLimiteDelPoolTerminan() throws Exception {
+		assertThat(dataSource).isInstanceOf(DataSourceConReserva.class);
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+		long usuariosPrevios = usuarioRepository.count();
+
+		ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<?>> resultados = new ArrayList<>();
+		try {
+			for (int h = 0; h < HILOS; h++) {
+				int hilo = h;
+				resultados.add(hilos.submit(() -> {
+					largada.await();
+					transaccion.executeWithoutResult(estado -> usuarioRepository.saveAll(usuarios(hilo)));
+					return null;
+				}));
+			}
+			largada.countDown();
+
+			for (Future<?> resultado : resultados) {
+				// Propaga cualquier excepción (por ejemplo el timeout de Hikari)
+				resultado.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			hilos.shutdownNow();
+		}
+
+		assertThat(usuarioRepository.count()).isEqualTo(usuariosPrevios + (long) HILOS * USUARIOS_POR_TRANSACCION);
+	}
+
+	private static List<Usuario> usuarios(int hilo) {
+		List<Usuario> usuarios = new ArrayList<>();
+		for (int i = 0; i < USUARIOS_POR_TRANSACCION; i++) {
+			usuarios.add(Usuario.builder()
+					.nombre("Usuario")
+					.apellido(hilo + "-" + i)
+					.email("reserva-" + hilo + "-" + i + "@test.com")
+					.password("x")
+					.role(Role.USER)
+					.build());
+		}
+		return usuarios;
+	}
+}
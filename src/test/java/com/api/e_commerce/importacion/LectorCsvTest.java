@@ -0,0 +1,93 @@
+package com.api.e_commerce.importacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class LectorCsvTest {
+
+	@Test
+	void separaCamposPorComa() throws IOException {
+		LectorCsv lector = lector("name,price,stock\nMouse,19.99,10\n");
+
+		assertThat(lector.leerRegistro()).containsExactly("name", "price", "stock");
+		assertThat(lector.leerRegistro()).containsExactly("Mouse", "19.99", "10");
+		assertThat(lector.leerRegistro()).isNull();
+	}
+
+	@Test
+	void ultimoRegistroSinSaltoDeLinea() throws IOException {
+		LectorCsv lector = lector("a,b\nc,");
+
+		assertThat(lector.leerRegistro()).containsExactly("a", "b");
+		assertThat(lector.leerRegistro()).containsExactly("c", "");
+		assertThat(lector.leerRegistro()).isNull();
+	}
+
+	@Test
+	void campoEntreComillasPuedeContenerComas() throws IOException {
+		LectorCsv lector = lector("\"Mouse, inalámbrico\",19.99\n");
+
+		assertThat(lector.leerRegistro()).containsExactly("Mouse, inalámbrico", "19.99");
+	}
+
+	@Test
+	void comillasDoblesEscapadasDentroDeUnCampo() throws IOException {
+		LectorCsv lector = lector("\"Monitor 27\"\"\",\"\"\"a\"\",\"\"b\"\"\"\n");
+
+		assertThat(lector.leerRegistro()).containsExactly("Monitor 27\"", "\"a\",\"b\"");
+	}
+
+	@Test
+	void campoEntreComillasVacio() throws IOException {
+		LectorCsv lector = lector("\"\",x\n");
+
+		assertThat(lector.leerRegistro()).containsExactly("", "x");
+	}
+
+	@Test
+	void saltoDeLineaDentroDeComillasNoTerminaElRegistro() throws IOException {
+		LectorCsv lector = lector("Silla,\"Respaldo alto\nApoyabrazos\",5\nMesa,Roble,2\n");
+
+		assertThat(lector.leerRegistro()).containsExactly("Silla", "Respaldo alto\nApoyabrazos", "5");
+		assertThat(lector.leerRegistro()).containsExactly("Mesa", "Roble", "2");
+		assertThat(lector.leerRegistro()).isNull();
+	}
+
+	@Test
+	void finesDeLineaCrlf() throws IOException {
+		LectorCsv lector = lector("name,price\r\nMouse,19.99\r\n\"Teclado\",25\r\n");
+
+		assertThat(lector.leerRegistro()).containsExactly("name", "price");
+		assertThat(lector.leerRegistro()).containsExactly("Mouse", "19.99");
+		assertThat(lector.leerRegistro()).containsExactly("Teclado", "25");
+		assertThat(lector.leerRegistro()).isNull();
+	}
+
+	@Test
+	void lineaDelRegistroCuentaLasLineasDeCamposMultilinea() throws IOException {
+		LectorCsv lector = lector("name,description\r\n"
+				+ "Silla,\"Línea 1\nLínea 2\nLínea 3\"\r\n"
+				+ "Mesa,\"Una línea\"\r\n"
+				+ "Lámpara,\"A\r\nB\"\n"
+				+ "Estante,Pino\n");
+
+		lector.leerRegistro();
+		assertThat(lector.getLineaRegistro()).isEqualTo(1);
+		lector.leerRegistro();
+		assertThat(lector.getLineaRegistro()).isEqualTo(2);
+		lector.leerRegistro();
+		assertThat(lector.getLineaRegistro()).isEqualTo(5);
+		assertThat(lector.leerRegistro()).containsExactly("Lámpara", "A\r\nB");
+		assertThat(lector.getLineaRegistro()).isEqualTo(6);
+		lector.leerRegistro();
+		assertThat(lector.getLineaRegistro()).isEqualTo(8);
+	}
+
+	private static LectorCsv lector(String contenido) {
+		return new LectorCsv(new StringReader(contenido));
+	}
+}
@@ -0,0 +1,54 @@
+package com.api.e_commerce.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+class DineroTest {
+
+	@Test
+	void redondeaHalfUpEnElTercerDecimal() {
+		assertThat(Dinero.centavos(new BigDecimal("1.005"))).isEqualTo(101);
+		assertThat(Dinero.centavos(new BigDecimal("1.004"))).isEqualTo(100);
+		assertThat(Dinero.centavos(new BigDecimal("0.005"))).isEqualTo(1);
+		assertThat(Dinero.centavos(new BigDecimal("-1.005"))).isEqualTo(-101);
+		assertThat(Dinero.centavos(new BigDecimal("19.99"))).isEqualTo(1999);
+		assertThat(Dinero.centavos(new BigDecimal("7"))).isEqualTo(700);
+	}
+
+	@Test
+	void convierteCentavosABigDecimalConDosDecimales() {
+		assertThat(Dinero.aBigDecimal(101)).isEqualByComparingTo("1.01")
+				.satisfies(importe -> assertThat(importe.scale()).isEqualTo(2));
+		assertThat(Dinero.aBigDecimal(0)).isEqualTo(new BigDecimal("0.00"));
+	}
+
+	@Test
+	void importeQueNoEntraEnUnLongFalla() {
+		BigDecimal enorme = BigDecimal.valueOf(Long.MAX_VALUE);
+
+		assertThatThrownBy(() -> Dinero.centavos(enorme)).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void sumaYMultiplicaSinPerderPrecision() {
+		assertThat(Dinero.sumar(1999, 1)).isEqualTo(2000);
+		assertThat(Dinero.multiplicar(1999, 3)).isEqualTo(5997);
+	}
+
+	@Test
+	void sumaQueDesbordaFalla() {
+		assertThatThrownBy(() -> Dinero.sumar(Long.MAX_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Dinero.sumar(Long.MIN_VALUE, -1)).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void multiplicacionQueDesbordaFalla() {
+		assertThatThrownBy(() -> Dinero.multiplicar(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Dinero.multiplicar(Long.MAX_VALUE, Integer.MAX_VALUE))
+				.isInstanceOf(ArithmeticException.class);
+	}
+}
@@ -0,0 +1,259 @@
+package com.api.e_commerce.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Pedido;
+import com.api.e_commerce.model.PedidoDetalle;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Role;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.monitoreo.MedicionSql;
+
+/**
+ * Verifica con EXPLAIN que las consultas frecuentes de los repositorios usen
+ * los índices de las migraciones (db/migration/h2) en lugar de recorrer la
+ * tabla completa. En H2 un recorrido completo aparece en el plan como
+ * "TABLA.tableScan".
+ *
+ * Cada test ejecuta el método real del repositorio, toma de MedicionSql la
+ * sentencia que generó Hibernate (InspectorSentenciasSql) y la explica con
+ * parámetros de ejemplo según la columna con la que se compara cada uno. Los
+ * listados completos y los conteos agrupados leen todas las filas por
+ * definición y no se incluyen.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class PlanesDeConsultaTest {
+
+	private static final String RECORRIDO_COMPLETO = ".tableScan";
+
+	private static final int CANTIDAD_PRODUCTOS = 100;
+	private static final int CANTIDAD_PEDIDOS = 20;
+
+	// Un parámetro de Hibernate aparece como "alias.columna <op> ?" o como
+	// límite de filas ("fetch first ? rows only", "offset ? rows")
+	private static final Pattern PARAMETRO = Pattern.compile(
+			"(?:\\.(\\w+)\\s*(?:=|<>|<=|>=|<|>)\\s*|\\b(first|next|offset|limit)\\s+)\\?",
+			Pattern.CASE_INSENSITIVE);
+
+	private static final Map<String, Object> VALORES_DE_EJEMPLO = Map.of(
+			"id", 10L,
+			"name", "Producto 010",
+			"email", "cliente@test.com",
+			"activo", true,
+			"usuario_id", 1L,
+			"categoria_id", 1L,
+			"producto_id", 1L,
+			"pedido_id", 1L,
+			"fecha_pedido", Timestamp.valueOf("2025-01-01 00:00:00"));
+
+	@Autowired
+	private ProductoRepository productoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private PedidoRepository pedidoRepository;
+
+	@Autowired
+	private PedidoDetalleRepository pedidoDetalleRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Long categoriaId;
+	private Usuario cliente;
+	private Producto producto;
+	private Pedido pedido;
+
+	@BeforeEach
+	void cargarDatos() {
+		Categoria tecnologia = new Categoria();
+		tecnologia.setName("Tecnologia");
+		entityManager.persist(tecnologia);
+		Categoria hogar = new Categoria();
+		hogar.setName("Hogar");
+		entityManager.persist(hogar);
+		categoriaId = tecnologia.getId();
+
+		cliente = Usuario.builder()
+				.nombre("Cliente")
+				.apellido("Test")
+				.email("cliente@test.com")
+				.password("x")
+				.role(Role.USER)
+				.build();
+		entityManager.persist(cliente);
+
+		for (int i = 0; i < CANTIDAD_PRODUCTOS; i++) {
+			Producto nuevo = new Producto();
+			nuevo.setName(String.format("Producto %03d", i));
+			nuevo.setDescription("Descripción " + i);
+			nuevo.setPrice(BigDecimal.TEN);
+			nuevo.setStock(10);
+			nuevo.setImage("imagen.jpg");
+			nuevo.setUsuario(cliente);
+			nuevo.setCategorias(new HashSet<>(Set.of(i % 2 == 0 ? tecnologia : hogar)));
+			entityManager.persist(nuevo);
+			if (producto == null) {
+				producto = nuevo;
+			}
+		}
+
+		for (int i = 0; i < CANTIDAD_PEDIDOS; i++) {
+			Pedido nuevo = new Pedido();
+			nuevo.setUsuario(cliente);
+			nuevo.setFechaPedido(LocalDateTime.of(2025, 1, 1, 0, 0).minusDays(i));
+			PedidoDetalle detalle = new PedidoDetalle(producto, 1);
+			detalle.setPedido(nuevo);
+			nuevo.getDetalles().add(detalle);
+			entityManager.persist(nuevo);
+			if (pedido == null) {
+				pedido = nuevo;
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void primeraPaginaDelCatalogoRecorreElIndicePorNombre() {
+		String plan = explicar(() -> productoRepository.listarPrimerosResumenes(Limit.of(21)));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO).containsIgnoringCase("idx_productos_name_id");
+	}
+
+	@Test
+	void paginaSiguienteDelCatalogoRecorreElIndicePorNombre() {
+		String plan = explicar(
+				() -> productoRepository.listarSiguientesResumenes("Producto 010", producto.getId(), Limit.of(21)));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO).containsIgnoringCase("idx_productos_name_id");
+	}
+
+	@Test
+	void productosDeUnaCategoriaUsanIndices() {
+		String plan = explicar(() -> productoRepository
+				.findByCategoriasIdAndActivoTrueOrderByNameAscIdAsc(categoriaId, PageRequest.of(0, 20)));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	@Test
+	void conteoDeProductosDeUnaCategoriaUsaIndice() {
+		String plan = explicar(() -> categoriaRepository.contarProductos(categoriaId));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	@Test
+	void categoriaPorNombreUsaIndiceUnico() {
+		assertThat(explicar(() -> categoriaRepository.findByName("Hogar"))).doesNotContain(RECORRIDO_COMPLETO);
+		assertThat(explicar(() -> categoriaRepository.existsByName("Hogar"))).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	@Test
+	void usuarioPorEmailUsaIndiceUnico() {
+		// Login y cada petición autenticada
+		String plan = explicar(() -> usuarioRepository.findByEmail("cliente@test.com"));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	@Test
+	void historialDePedidosUsaIndicePorUsuarioYFecha() {
+		String plan = explicar(() -> pedidoRepository.buscarSiguientesIdsPorUsuario(cliente.getId(),
+				LocalDateTime.of(2025, 1, 1, 0, 0), pedido.getId(), Limit.of(21)));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	@Test
+	void detallesPorProductoUsanIndice() {
+		String plan = explicar(() -> pedidoDetalleRepository.contarPedidosDeProducto(producto.getId()));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	@Test
+	void existenciaDeDetallesPorProductoUsaIndice() {
+		// Antes de eliminar un producto
+		String plan = explicar(() -> pedidoDetalleRepository.existsByProductoId(producto.getId()));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	@Test
+	void detallesDeUnPedidoUsanIndice() {
+		String plan = explicar(
+				() -> pedidoDetalleRepository.findByPedidoIdAndProductoId(pedido.getId(), producto.getId()));
+
+		assertThat(plan).doesNotContain(RECORRIDO_COMPLETO);
+	}
+
+	// Ejecuta la consulta del repositorio y devuelve el plan de la primera
+	// sentencia que generó (las siguientes, si las hay, son cargas por ID)
+	private String explicar(Runnable consulta) {
+		List<String> sentencias = MedicionSql.medir(consulta).getSentenciasEjecutadas();
+		assertThat(sentencias).as("sentencias generadas").isNotEmpty();
+		String sql = sentencias.get(0);
+		assertThat(sql).startsWithIgnoringCase("select");
+
+		return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(conexion -> {
+			try (PreparedStatement sentencia = conexion.prepareStatement("EXPLAIN " + sql)) {
+				vincularParametros(sentencia, sql);
+				try (ResultSet plan = sentencia.executeQuery()) {
+					StringBuilder texto = new StringBuilder();
+					while (plan.next()) {
+						texto.append(plan.getString(1)).append('\n');
+					}
+					return texto.toString();
+				}
+			}
+		});
+	}
+
+	private static void vincularParametros(PreparedStatement sentencia, String sql) throws SQLException {
+		Matcher parametro = PARAMETRO.matcher(sql);
+		int indice = 0;
+		while (parametro.find()) {
+			indice++;
+			if (parametro.group(2) != null) {
+				sentencia.setInt(indice, parametro.group(2).equalsIgnoreCase("offset") ? 0 : 21);
+				continue;
+			}
+			String columna = parametro.group(1).toLowerCase();
+			assertThat(VALORES_DE_EJEMPLO).as("valor de ejemplo para %s en: %s", columna, sql).containsKey(columna);
+			sentencia.setObject(indice, VALORES_DE_EJEMPLO.get(columna));
+		}
+		long parametros = sql.chars().filter(c -> c == '?').count();
+		assertThat(indice).as("parámetros reconocidos en: %s", sql).isEqualTo((int) parametros);
+	}
+}
@@ -0,0 +1,145 @@
+package com.api.e_commerce.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.api.e_commerce.dto.producto.ProductoDTO;
+import com.api.e_commerce.dto.producto.ProductoMapper;
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Role;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.monitoreo.MedicionSql;
+
+/**
+ * Verifica que los listados del catálogo no caigan en el problema N+1 al
+ * mapearse a DTOs: la cantidad de consultas no debe depender de la cantidad de
+ * productos.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ProductoRepositoryTest {
+
+	private static final int CANTIDAD_PRODUCTOS = 30;
+
+	@Autowired
+	private ProductoRepository productoRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private final ProductoMapper productoMapper = new ProductoMapper();
+
+	private MedicionSql medicion;
+
+	private Long categoriaId;
+
+	@BeforeEach
+	void cargarCatalogo() {
+		Categoria tecnologia = new Categoria();
+		tecnologia.setName("Tecnologia");
+		entityManager.persist(tecnologia);
+		Categoria hogar = new Categoria();
+		hogar.setName("Hogar");
+		entityManager.persist(hogar);
+		categoriaId = tecnologia.getId();
+
+		for (int i = 0; i < CANTIDAD_PRODUCTOS; i++) {
+			// Cada producto tiene su propio usuario para que el mapeo toque un
+			// proxy distinto por fila
+			Usuario usuario = Usuario.builder()
+					.nombre("Vendedor" + i)
+					.apellido("Test")
+					.email("vendedor" + i + "@test.com")
+					.password("x")
+					.role(Role.USER)
+					.build();
+			entityManager.persist(usuario);
+
+			Producto producto = new Producto();
+			producto.setName("Producto " + i);
+			producto.setDescription("Descripción " + i);
+			producto.setPrice(BigDecimal.TEN);
+			producto.setStock(10);
+			producto.setImage("imagen.jpg");
+			producto.setUsuario(usuario);
+			producto.setCategorias(new HashSet<>(Set.of(tecnologia, hogar)));
+			entityManager.persist(producto);
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		medicion = MedicionSql.iniciar();
+	}
+
+	@AfterEach
+	void terminarMedicion() {
+		MedicionSql.finalizar();
+	}
+
+	@Test
+	void listadoCompletoUsaCantidadFijaDeConsultas() {
+		List<ProductoDTO> productos = productoMapper.toDTOList(productoRepository.findByActivoTrueOrderByNameAsc());
+
+		assertThat(productos).hasSize(CANTIDAD_PRODUCTOS);
+		assertThat(productos).allSatisfy(dto -> {
+			assertThat(dto.getUsuario()).isNotNull();
+			assertThat(dto.getCategorias()).hasSize(2);
+		});
+		// 1 consulta para productos + usuarios y 1 lote para las categorías
+		medicion.verificarMaximo(2);
+	}
+
+	@Test
+	void listadoPorCategoriaUsaCantidadFijaDeConsultas() {
+		List<ProductoDTO> productos = productoMapper
+				.toDTOList(productoRepository.findByCategoriasIdAndActivoTrueOrderByNameAsc(categoriaId));
+
+		assertThat(productos).hasSize(CANTIDAD_PRODUCTOS);
+		medicion.verificarMaximo(2);
+	}
+
+	@Test
+	void listadosExcluyenProductosArchivados() {
+		Long archivadoId = productoRepository.findByActivoTrueOrderByNameAsc().get(0).getId();
+		assertThat(productoRepository.archivar(archivadoId)).isEqualTo(1);
+		// Archivar de nuevo no afecta filas
+		assertThat(productoRepository.archivar(archivadoId)).isZero();
+		entityManager.clear();
+
+		assertThat(productoRepository.findByActivoTrueOrderByNameAsc())
+				.hasSize(CANTIDAD_PRODUCTOS - 1)
+				.extracting(Producto::getId)
+				.doesNotContain(archivadoId);
+		assertThat(productoRepository.findByCategoriasIdAndActivoTrueOrderByNameAsc(categoriaId))
+				.hasSize(CANTIDAD_PRODUCTOS - 1);
+		assertThat(productoRepository.findByIdAndActivoTrue(archivadoId)).isEmpty();
+		// El producto sigue existiendo para los pedidos que lo referencian
+		assertThat(productoRepository.findById(archivadoId)).isPresent();
+	}
+
+	@Test
+	void desarchivarDevuelveElProductoALosListados() {
+		Long archivadoId = productoRepository.findByActivoTrueOrderByNameAsc().get(0).getId();
+		productoRepository.archivar(archivadoId);
+
+		assertThat(productoRepository.desarchivar(archivadoId)).isEqualTo(1);
+		// Desarchivar un producto activo no afecta filas
+		assertThat(productoRepository.desarchivar(archivadoId)).isZero();
+		entityManager.clear();
+
+		assertThat(productoRepository.findByActivoTrueOrderByNameAsc()).hasSize(CANTIDAD_PRODUCTOS);
+		assertThat(productoRepository.findByIdAndActivoTrue(archivadoId)).isPresent();
+	}
+}
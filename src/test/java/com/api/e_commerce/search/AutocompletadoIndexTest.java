@@ -0,0 +1,41 @@
+package com.api.e_commerce.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.api.e_commerce.dto.busqueda.SugerenciaDTO;
+
+class AutocompletadoIndexTest {
+
+	// Los repositorios solo se usan al reconstruir desde la base
+	private final AutocompletadoIndex indice = new AutocompletadoIndex(null, null, null);
+
+	@BeforeEach
+	void indexarCategorias() {
+		indice.indexarCategoria(1L, "Notebooks");
+		indice.indexarCategoria(2L, "Novedades");
+	}
+
+	@Test
+	void popularidadDeCategoriasSigueSuCantidadDeProductos() {
+		indice.actualizarPopularidadCategorias(Map.of(1L, 3L, 2L, 8L));
+		assertThat(indice.sugerir("no", 10)).extracting(SugerenciaDTO::getId).containsExactly(2L, 1L);
+
+		// El top del prefijo ya estaba cacheado: el cambio lo invalida
+		indice.actualizarPopularidadCategorias(Map.of(1L, 12L));
+		assertThat(indice.sugerir("no", 10)).extracting(SugerenciaDTO::getId).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void renombrarConservaLaPopularidad() {
+		indice.actualizarPopularidadCategorias(Map.of(1L, 5L));
+
+		indice.indexarCategoria(1L, "Notebooks y laptops");
+
+		assertThat(indice.sugerir("no", 10)).extracting(SugerenciaDTO::getId).containsExactly(1L, 2L);
+	}
+}
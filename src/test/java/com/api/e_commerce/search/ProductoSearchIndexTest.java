@@ -0,0 +1,55 @@
+package com.api.e_commerce.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductoSearchIndexTest {
+
+	// El repositorio solo se usa al reconstruir desde la base
+	private final ProductoSearchIndex indice = new ProductoSearchIndex(null);
+
+	@BeforeEach
+	void indexarCatalogo() {
+		indice.indexar(1L, "Laptop Lenovo", "Notebook de 15 pulgadas");
+		indice.indexar(2L, "Desktop Gamer", "Equipo de escritorio");
+		indice.indexar(3L, "Consola portátil", "Con dos joysticks");
+		indice.indexar(4L, "Funda para notebook", "Protección sin costuras");
+	}
+
+	@Test
+	void palabraVaciaSolaSeBuscaComoPrefijo() {
+		assertThat(indice.buscar("la", 10)).containsExactly(1L);
+		assertThat(indice.buscar("de", 10)).containsExactly(2L);
+		assertThat(indice.buscar("con", 10)).containsExactly(3L);
+	}
+
+	@Test
+	void palabrasVaciasSeIgnoranJuntoAOtrasPalabras() {
+		assertThat(indice.buscar("funda para notebook", 10)).containsExactly(4L);
+	}
+
+	@Test
+	void nombreTieneMasPesoQueDescripcion() {
+		assertThat(indice.buscar("notebook", 10)).containsExactly(4L, 1L);
+	}
+
+	@Test
+	void busquedaIgnoraTildes() {
+		assertThat(indice.buscar("portatil", 10)).containsExactly(3L);
+	}
+
+	@Test
+	void resultadosLimitadosConservanElOrdenYElTotal() {
+		indice.indexar(5L, "Notebook Dell", "Notebook liviana");
+		indice.indexar(6L, "Mochila", "Para notebook");
+
+		ProductoSearchIndex.Resultado completo = indice.buscarConTotal("notebook", 10);
+		ProductoSearchIndex.Resultado primeros = indice.buscarConTotal("notebook", 2);
+
+		assertThat(completo.ids()).containsExactly(5L, 4L, 1L, 6L);
+		assertThat(primeros.ids()).containsExactlyElementsOf(completo.ids().subList(0, 2));
+		assertThat(primeros.total()).isEqualTo(4);
+	}
+}
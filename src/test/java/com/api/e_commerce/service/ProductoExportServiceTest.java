@@ -0,0 +1,150 @@
+package com.api.e_commerce.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.api.e_commerce.dto.producto.ProductoDTO;
+import com.api.e_commerce.dto.producto.ProductoMapper;
+import com.api.e_commerce.exception.ServicioSaturadoException;
+import com.api.e_commerce.model.Categoria;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Role;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.monitoreo.MedicionSql;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Exportación del catálogo sobre H2: varios lotes de LOTE_EXPORTACION
+ * productos, cada uno con su usuario y sus dos categorías traídos en la misma
+ * consulta.
+ */
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"productos.exportacion.maximo-concurrentes=2" })
+@Import({ ProductoExportService.class, ProductoMapper.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ProductoExportServiceTest {
+
+	private static final int CANTIDAD_PRODUCTOS = ProductoExportService.LOTE_EXPORTACION * 2 + 7;
+
+	@Autowired
+	private ProductoExportService productoExportService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Long archivadoId;
+
+	@BeforeEach
+	void cargarCatalogo() {
+		Categoria tecnologia = new Categoria();
+		tecnologia.setName("Tecnologia");
+		entityManager.persist(tecnologia);
+		Categoria hogar = new Categoria();
+		hogar.setName("Hogar");
+		entityManager.persist(hogar);
+
+		Usuario vendedor = Usuario.builder()
+				.nombre("Vendedor")
+				.apellido("Test")
+				.email("vendedor@test.com")
+				.password("x")
+				.role(Role.USER)
+				.build();
+		entityManager.persist(vendedor);
+
+		for (int i = 0; i < CANTIDAD_PRODUCTOS; i++) {
+			Producto producto = new Producto();
+			producto.setName("Producto " + i);
+			producto.setPrice(BigDecimal.TEN);
+			producto.setStock(10);
+			producto.setImage("imagen.jpg");
+			producto.setUsuario(vendedor);
+			producto.setCategorias(new HashSet<>(Set.of(tecnologia, hogar)));
+			entityManager.persist(producto);
+			if (i == 3) {
+				producto.setActivo(false);
+				archivadoId = producto.getId();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void ndjsonExportaLosActivosEnOrdenDeIdConUsuarioYCategorias() throws IOException {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+		// Con el streaming de MySQL la conexión no admite otras consultas hasta
+		// terminar de leer el resultado: todo sale de un único SELECT
+		MedicionSql medicion = MedicionSql.iniciar();
+		long exportados;
+		try {
+			exportados = productoExportService.exportarNdjson(salida);
+		} finally {
+			MedicionSql.finalizar();
+		}
+		medicion.verificarMaximo(1);
+
+		String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+		List<Long> ids = new ArrayList<>();
+		for (String linea : lineas) {
+			ProductoDTO producto = objectMapper.readValue(linea, ProductoDTO.class);
+			assertThat(producto.getCategorias()).hasSize(2);
+			assertThat(producto.getUsuario()).isNotNull();
+			ids.add(producto.getId());
+		}
+		assertThat(exportados).isEqualTo(CANTIDAD_PRODUCTOS - 1);
+		assertThat(ids).hasSize(CANTIDAD_PRODUCTOS - 1).isSorted().doesNotHaveDuplicates()
+				.doesNotContain(archivadoId);
+	}
+
+	@Test
+	void jsonExportaUnArregloConTodosLosActivos() throws IOException {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+		productoExportService.exportarJson(salida);
+
+		JsonNode arreglo = objectMapper.readTree(salida.toByteArray());
+		assertThat(arreglo.isArray()).isTrue();
+		assertThat(arreglo.size()).isEqualTo(CANTIDAD_PRODUCTOS - 1);
+	}
+
+	@Test
+	void exportacionesQueExcedenElLimiteSeRechazan() {
+		productoExportService.reservarExportacion();
+		productoExportService.reservarExportacion();
+		try {
+			assertThatThrownBy(productoExportService::reservarExportacion)
+					.isInstanceOf(ServicioSaturadoException.class);
+
+			// Al terminar una exportación se libera su lugar
+			productoExportService.liberarExportacion();
+			productoExportService.reservarExportacion();
+		} finally {
+			productoExportService.liberarExportacion();
+			productoExportService.liberarExportacion();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.api.e_commerce.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.e_commerce.dto.pedido.ItemCarritoDTO;
+import com.api.e_commerce.exception.StockInsuficienteException;
+import com.api.e_commerce.model.Producto;
+import com.api.e_commerce.model.Role;
+import com.api.e_commerce.model.Usuario;
+import com.api.e_commerce.repository.PedidoRepository;
+import com.api.e_commerce.repository.ProductoRepository;
+import com.api.e_commerce.repository.UsuarioRepository;
+import com.api.e_commerce.service.PedidoService;
+
+/**
+ * Checkouts con el motor de reservas habilitado. La escritura en segundo plano
+ * se difiere (intervalo de una hora) para que cada test la ejecute con
+ * escribirPendientes y compare la base antes y después.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:reservas-stock;DB_CLOSE_DELAY=-1",
+		"stock.reservas.habilitado=true",
+		"stock.reservas.franjas=4",
+		"stock.reservas.ttl=30s",
+		"stock.reservas.intervalo-escritura=1h" })
+@ActiveProfiles("h2")
+class MotorReservasStockTest {
+
+	private static final int HILOS = 16;
+	private static final int CHECKOUTS_POR_HILO = 4;
+	private static final int STOCK_INICIAL = 30;
+
+	@Autowired
+	private MotorReservasStock motorReservasStock;
+
+	@Autowired
+	private PedidoService pedidoService;
+
+	@Autowired
+	private ProductoRepository productoRepository;
+
+	@Autowired
+	private PedidoRepository pedidoRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Usuario cliente;
+	private Producto producto;
+
+	@BeforeEach
+	void cargarDatos() {
+		cliente = usuarioRepository.save(Usuario.builder()
+				.nombre("Cliente")
+				.apellido("Reservas")
+				.email("reservas-" + System.nanoTime() + "@test.com")
+				.password("x")
+				.role(Role.USER)
+				.build());
+
+		Producto nuevo = new Producto();
+		nuevo.setName("Oferta");
+		nuevo.setDescription("Venta flash");
+		nuevo.setPrice(BigDecimal.TEN);
+		nuevo.setStock(STOCK_INICIAL);
+		nuevo.setImage("oferta.jpg");
+		nuevo.setUsuario(cliente);
+		producto = productoRepository.save(nuevo);
+	}
+
+	@Test
+	void checkoutsConcurrentesNoVendenMasQueElStock() throws Exception {
+		ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<?>> resultados = new ArrayList<>();
+		try {
+			for (int h = 0; h < HILOS * CHECKOUTS_POR_HILO; h++) {
+				resultados.add(hilos.submit(() -> {
+					largada.await();
+					return pedidoService.realizarCheckout(cliente.getEmail(),
+							List.of(new ItemCarritoDTO(producto.getId(), 1)));
+				}));
+			}
+			largada.countDown();
+
+			int vendidos = 0;
+			int rechazados = 0;
+			for (Future<?> resultado : resultados) {
+				try {
+					resultado.get(60, TimeUnit.SECONDS);
+					vendidos++;
+				} catch (ExecutionException e) {
+					assertThat(e.getCause()).isInstanceOf(StockInsuficienteException.class);
+					rechazados++;
+				}
+			}
+			assertThat(vendidos).isEqualTo(STOCK_INICIAL);
+			assertThat(rechazados).isEqualTo(HILOS * CHECKOUTS_POR_HILO - STOCK_INICIAL);
+		} finally {
+			hilos.shutdownNow();
+		}
+
+		// Los pedidos están guardados pero la fila del producto no se tocó
+		assertThat(motorReservasStock.disponible(producto.getId())).isZero();
+		assertThat(stockEnLaBase()).isEqualTo(STOCK_INICIAL);
+		assertThat(pedidoRepository.buscarIdsConStockPendiente(Limit.of(100))).hasSize(STOCK_INICIAL);
+
+		assertThat(motorReservasStock.escribirPendientes()).isEqualTo(STOCK_INICIAL);
+
+		assertThat(stockEnLaBase()).isZero();
+		assertThat(pedidoRepository.buscarIdsConStockPendiente(Limit.of(100))).isEmpty();
+	}
+
+	@Test
+	void transaccionRevertidaDevuelveLaReserva() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+		transaccion.executeWithoutResult(estado -> {
+			motorReservasStock.reservar(Map.of(producto.getId(), 5), Map.of(producto.getId(), producto));
+			assertThat(motorReservasStock.disponible(producto.getId())).isEqualTo(STOCK_INICIAL - 5);
+			// Por ejemplo, falló el INSERT del pedido
+			estado.setRollbackOnly();
+		});
+
+		assertThat(motorReservasStock.disponible(producto.getId())).isEqualTo(STOCK_INICIAL);
+	}
+
+	@Test
+	void reservaVencidaSeDevuelveYSeVuelveADescontarSiSeConfirma() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+		transaccion.executeWithoutResult(estado -> {
+			motorReservasStock.reservar(Map.of(producto.getId(), 5), Map.of(producto.getId(), producto));
+
+			motorReservasStock.expirarReservas(System.nanoTime() + Duration.ofMinutes(1).toNanos());
+			assertThat(motorReservasStock.disponible(producto.getId())).isEqualTo(STOCK_INICIAL);
+		});
+
+		// La transacción se confirmó después de vencer: las unidades se descuentan
+		assertThat(motorReservasStock.disponible(producto.getId())).isEqualTo(STOCK_INICIAL - 5);
+	}
+
+	private Integer stockEnLaBase() {
+		return productoRepository.obtenerStock(producto.getId()).orElseThrow();
+	}
+}